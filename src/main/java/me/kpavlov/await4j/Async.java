@@ -1,8 +1,11 @@
 package me.kpavlov.await4j;
 
-import java.util.Objects;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 /**
  * The {@code Async} class provides utilities to execute code asynchronously using virtual threads.
@@ -16,11 +19,63 @@ import java.util.concurrent.atomic.AtomicReference;
  *     <li>Handle both checked and unchecked exceptions in asynchronous tasks.</li>
  *     <li>Retrieve results from {@link Future} and {@link CompletableFuture} objects.</li>
  * </ul>
+ * <p>
+ * When the system property {@value #CALLER_RUNS_PROPERTY} is set to {@code true}, blocks awaited from
+ * a thread that is already virtual are executed directly on the calling thread instead of starting
+ * a new virtual thread. Exceptions are translated exactly as in the asynchronous case.
+ * Blocks awaited with a timeout or within a {@link Deadline} scope still start a new virtual thread,
+ * because a time limit can only be enforced by abandoning the thread running the block.
+ * </p>
+ * <p>
+ * When a block does not complete within the timeout, {@code await} fails with {@link CompletionException}
+ * caused by {@link TimeoutException}, and the abandoned virtual thread is interrupted, so it stops holding
+ * resources nobody is waiting for. Set the system property {@value #INTERRUPT_ON_TIMEOUT_PROPERTY}
+ * to {@code false} to let abandoned blocks run to completion instead.
+ * The number of abandoned tasks is reported by {@link #abandonedTaskCount()}.
+ * </p>
+ * <p>
+ * When the thread waiting in {@code await} is interrupted, the awaited block is cancelled and its
+ * virtual thread is interrupted too. A block waiting in a nested {@code await} is interrupted in turn,
+ * so cancellation reaches the whole tree of blocks started on behalf of the caller.
+ * The number of cancelled tasks is reported by {@link #cancelledTaskCount()}.
+ * </p>
+ * <p>
+ * Within a {@link Deadline#within(Duration, Callable) deadline scope}, awaits wait at most for the remaining
+ * budget of the scope, which is passed to nested awaits as well.
+ * </p>
+ * <p>
+ * Checked exceptions thrown by blocks are wrapped into {@link CompletionException}.
+ * Set the system property {@value #EXCEPTION_WRAPPING_PROPERTY} to {@code STACKLESS} to skip filling in
+ * stack traces of the wrappers, or to {@code NONE} to rethrow checked exceptions as is,
+ * see {@link ExceptionWrapping}. The property sets the default of
+ * {@link Awaiter.Builder#exceptionWrapping(ExceptionWrapping)}, so an {@link Awaiter} can use another mode.
+ * </p>
+ * <p>
+ * Static methods delegate to a default {@link Awaiter}. Use {@link Awaiter#builder()} to create
+ * instances running blocks on other threads or executors.
+ * </p>
  */
 public class Async {
 
-    private static final Thread.Builder virtualThreadBuilder = Thread.ofVirtual()
-        .name("async-virtual-", 0);
+    /**
+     * Name of the system property enabling the caller-runs mode.
+     */
+    public static final String CALLER_RUNS_PROPERTY = "me.kpavlov.await4j.callerRuns";
+
+    /**
+     * Name of the system property controlling whether timed out blocks are interrupted, {@code true} by default.
+     */
+    public static final String INTERRUPT_ON_TIMEOUT_PROPERTY = "me.kpavlov.await4j.interruptOnTimeout";
+
+    /**
+     * Name of the system property selecting the {@link ExceptionWrapping} mode, {@code STACK_TRACE} by default
+     * and when the value is unknown.
+     */
+    public static final String EXCEPTION_WRAPPING_PROPERTY = "me.kpavlov.await4j.exceptionWrapping";
+
+    static final String INTERRUPTED_MESSAGE = "Can't execute async task: interrupted";
+
+    private static final Awaiter defaultAwaiter = Awaiter.builder().build();
 
     private Async() {
         // hide public constructor
@@ -31,40 +86,12 @@ public class Async {
      *
      * @param block  The code to be executed asynchronously
      * @param millis The maximum time to wait for the block to complete, in milliseconds
-     * @throws CompletionException   if the virtual thread is interrupted or throws Exception
+     * @throws CompletionException   if the virtual thread is interrupted, throws Exception or does not complete in time
      * @throws Error                 if the block throws an Error
      * @throws IllegalStateException if an unexpected Throwable is encountered
      */
-    @SuppressWarnings("java:S1181")
     public static void await(ThrowingRunnable block, long millis) {
-        Objects.requireNonNull(block, "Block should not be null");
-        try {
-            final var failureHolder = new AtomicReference<Throwable>();
-            virtualThreadBuilder.start(() -> {
-                    try {
-                        ThrowingRunnable
-                            .toRunnable(block)
-                            .run();
-                    } catch (Error e) {
-                        failureHolder.set(e);
-                    } catch (Exception e) {
-                        failureHolder.set(toRuntimeException(e));
-                    }
-                })
-                .join(millis);
-            final Throwable throwable = failureHolder.get();
-            switch (throwable) {
-                case null -> {
-                    // success
-                }
-                case Error e -> throw e;
-                case RuntimeException re -> throw re;
-                default -> throw new IllegalStateException("Unexpected Throwable: " + throwable, throwable);
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new CompletionException("Interrupted virtual thread", e);
-        }
+        defaultAwaiter.await(block, millis);
     }
 
     /**
@@ -88,34 +115,13 @@ public class Async {
      *               that contains synchronized blocks or invokes synchronized methods to avoid scalability issues.</strong>
      * @param millis The maximum time to wait for the callable block to complete, in milliseconds
      * @return The result of the callable block
-     * @throws CompletionException   if the virtual thread is interrupted or if the block throws an exception
+     * @throws CompletionException   if the virtual thread is interrupted, if the block throws an exception
+     *                               or does not complete in time
      * @throws Error                 if the block throws an Error
      * @throws IllegalStateException if an unexpected throwable is encountered in the call result
      */
     public static <T> T await(Callable<T> block, long millis) {
-        Objects.requireNonNull(block, "Callable should not be null");
-        try {
-            final var resultHolder = new AtomicReference<Result<T>>();
-            virtualThreadBuilder.start(() -> {
-                final Result<T> result = callWithErrorHandling(block);
-                resultHolder.set(result);
-            }).join(millis);
-            final Result<T> result = resultHolder.get();
-            if (result.isSuccess()) {
-                return result.getOrNull();
-            } else {
-                final Throwable failure = result.failure();
-                switch (failure) {
-                    case RuntimeException re -> throw re;
-                    case Error e -> throw e;
-                    case null, default ->
-                        throw new IllegalStateException("Unexpected throwable in call Result:" + failure, failure);
-                }
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new CompletionException("Interrupted virtual thread", e);
-        }
+        return defaultAwaiter.await(block, millis);
     }
 
     /**
@@ -132,6 +138,80 @@ public class Async {
         return await(block, 0);
     }
 
+    /**
+     * Executes a callable block asynchronously, retrying it according to the policy, and returns its result.
+     * Attempts and backoff sleeps run on the virtual thread started for the block.
+     *
+     * @param <T>    The type of the result
+     * @param block  The callable block to be executed asynchronously
+     * @param policy The retry policy
+     * @return The result of the first successful attempt
+     * @throws CompletionException   if the virtual thread is interrupted, if the last attempt throws an exception
+     *                               or the budget of the policy is spent
+     * @throws Error                 if the last attempt throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     * @see RetryPolicy
+     */
+    public static <T> T await(Callable<T> block, RetryPolicy policy) {
+        return defaultAwaiter.await(block, policy);
+    }
+
+    /**
+     * Executes a callable block asynchronously, guarded by the circuit breaker, and returns its result.
+     * While the breaker is open, the call is rejected right away without starting a virtual thread.
+     *
+     * @param <T>     The type of the result
+     * @param block   The callable block to be executed asynchronously
+     * @param breaker The circuit breaker of the dependency called by the block
+     * @return The result of the callable block
+     * @throws RejectedExecutionException if the breaker is open
+     * @throws CompletionException        if the virtual thread is interrupted or if the block throws an exception
+     * @throws Error                      if the block throws an Error
+     * @throws IllegalStateException      if an unexpected throwable is encountered in the call result
+     * @see CircuitBreaker
+     */
+    public static <T> T await(Callable<T> block, CircuitBreaker breaker) {
+        return defaultAwaiter.await(block, breaker);
+    }
+
+    /**
+     * Executes a callable block asynchronously once the bulkhead permits it, and returns its result.
+     * Calls queued by the bulkhead wait on the calling thread, and rejected calls do not start a virtual thread.
+     *
+     * @param <T>      The type of the result
+     * @param block    The callable block to be executed asynchronously
+     * @param bulkhead The bulkhead of the dependency called by the block
+     * @return The result of the callable block
+     * @throws RejectedExecutionException if the queue of the bulkhead is full or the permit wait time elapses
+     * @throws CompletionException        if the thread is interrupted, if the {@linkplain Deadline deadline}
+     *                                    of the current scope passes or if the block throws an exception
+     * @throws Error                      if the block throws an Error
+     * @throws IllegalStateException      if an unexpected throwable is encountered in the call result
+     * @see Bulkhead
+     */
+    public static <T> T await(Callable<T> block, Bulkhead bulkhead) {
+        return defaultAwaiter.await(block, bulkhead);
+    }
+
+    /**
+     * Executes a callable block asynchronously once the rate limiter issues a permit, and returns its result.
+     * The permit is waited for on the virtual thread started for the block.
+     *
+     * @param <T>         The type of the result
+     * @param block       The callable block to be executed asynchronously
+     * @param rateLimiter The rate limiter of the dependency called by the block
+     * @return The result of the callable block
+     * @throws CompletionException   if the virtual thread is interrupted, if the permit would be available only
+     *                               after the {@linkplain Deadline deadline} of the current scope
+     *                               or if the block throws an exception
+     * @throws Error                 if the block throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     * @see RateLimiter
+     */
+    public static <T> T await(Callable<T> block, RateLimiter rateLimiter) {
+        return defaultAwaiter.await(block, rateLimiter);
+    }
+
     /**
      * Waits for the completion of a Future and returns its result.
      *
@@ -141,8 +221,7 @@ public class Async {
      * @throws RuntimeException if the Future completes exceptionally
      */
     public static <T> T await(Future<T> future) {
-        if (shortCircuitDoneFuture(future)) return future.resultNow();
-        return await(() -> future.get());
+        return defaultAwaiter.await(future);
     }
 
     /**
@@ -155,12 +234,14 @@ public class Async {
      * @throws RuntimeException if the Future completes exceptionally
      */
     public static <T> T await(Future<T> future, long millis) {
-        if (shortCircuitDoneFuture(future)) return future.resultNow();
-        return await(() -> future.get(millis, TimeUnit.MILLISECONDS));
+        return defaultAwaiter.await(future, millis);
     }
 
     /**
      * Waits for the completion of a CompletableFuture and returns its result.
+     * <p>
+     * No virtual thread is started: the calling thread parks until the future completes.
+     * </p>
      *
      * @param <T>               The type of the result
      * @param completableFuture The CompletableFuture to await
@@ -168,51 +249,832 @@ public class Async {
      * @throws RuntimeException if the CompletableFuture completes exceptionally
      */
     public static <T> T await(CompletableFuture<T> completableFuture) {
-        if (shortCircuitDoneFuture(completableFuture)) return completableFuture.resultNow();
-        return await(completableFuture::join);
+        return defaultAwaiter.await(completableFuture);
+    }
+
+    /**
+     * Waits for the completion of a CompletableFuture and returns its result.
+     * <p>
+     * No virtual thread is started: the calling thread parks until the future completes or the timeout elapses.
+     * The future itself is not cancelled on timeout.
+     * </p>
+     *
+     * @param <T>               The type of the result
+     * @param completableFuture The CompletableFuture to await
+     * @param millis            The maximum time to wait for the future to complete, in milliseconds
+     * @return The result of the CompletableFuture
+     * @throws CompletionException if the future does not complete in time or the waiting thread is interrupted
+     * @throws RuntimeException    if the CompletableFuture completes exceptionally
+     */
+    public static <T> T await(CompletableFuture<T> completableFuture, long millis) {
+        return defaultAwaiter.await(completableFuture, millis);
     }
 
+    /**
+     * Starts a callable block on a new virtual thread and returns immediately.
+     * <p>
+     * Start independent blocks first and await their results later, so their latencies overlap:
+     * </p>
+     * <pre>{@code
+     * final var user = Async.async(() -> loadUser(id));
+     * final var orders = Async.async(() -> loadOrders(id));
+     * render(Async.await(user), Async.await(orders));
+     * }</pre>
+     * <p>
+     * Awaiting the returned future does not start another thread, and a completed future is returned
+     * right away. Cancelling the future with {@code mayInterruptIfRunning} interrupts the virtual thread.
+     * </p>
+     *
+     * @param <T>   The type of the result
+     * @param block The callable block to be started
+     * @return The future completed with the outcome of the block
+     */
+    public static <T> CompletableFuture<T> async(Callable<? extends T> block) {
+        return defaultAwaiter.async(block);
+    }
+
+    /**
+     * Creates a lazy handle of a callable block, which starts its virtual thread only when it is first awaited
+     * or {@linkplain Deferred#start() started}.
+     * <p>
+     * Concurrent awaiters share the single execution of the block, and later awaits return its outcome
+     * right away. Deferred blocks which are never awaited cost no thread at all.
+     * </p>
+     *
+     * @param <T>   The type of the result
+     * @param block The callable block to be executed on demand
+     * @return The lazy handle of the block, which can be passed to {@link #await(Future)}
+     */
+    public static <T> Deferred<T> defer(Callable<? extends T> block) {
+        return defaultAwaiter.defer(block);
+    }
+
+    /**
+     * Executes a callable block asynchronously and returns its outcome as {@link Result} without throwing.
+     * <p>
+     * Use it on hot paths where failures are expected, such as cache misses or optional enrichments:
+     * failures, timeouts and interrupts are returned as {@linkplain Result#isFailure() failed} results
+     * holding the same exceptions that {@link #await(Callable, long)} would throw, so callers can branch
+     * without paying for throwing and catching them.
+     * </p>
+     *
+     * @param <T>    The type of the result
+     * @param block  The callable block to be executed asynchronously
+     * @param millis The maximum time to wait for the callable block to complete, in milliseconds
+     * @return The successful or failed result of the block
+     */
+    public static <T> Result<T> awaitResult(Callable<T> block, long millis) {
+        return defaultAwaiter.awaitResult(block, millis);
+    }
+
+    /**
+     * Executes a callable block asynchronously and returns its outcome as {@link Result} without throwing.
+     *
+     * @param <T>   The type of the result
+     * @param block The callable block to be executed asynchronously
+     * @return The successful or failed result of the block
+     * @see #awaitResult(Callable, long)
+     */
+    public static <T> Result<T> awaitResult(Callable<T> block) {
+        return defaultAwaiter.awaitResult(block);
+    }
+
+    /**
+     * Executes a callable block asynchronously, guarded by the circuit breaker, and returns its outcome
+     * as {@link Result} without throwing. While the breaker is open, a failed result with
+     * {@link RejectedExecutionException} is returned right away, without starting a virtual thread.
+     *
+     * @param <T>     The type of the result
+     * @param block   The callable block to be executed asynchronously
+     * @param breaker The circuit breaker of the dependency called by the block
+     * @return The successful or failed result of the callable block
+     * @see CircuitBreaker
+     */
+    public static <T> Result<T> awaitResult(Callable<T> block, CircuitBreaker breaker) {
+        return defaultAwaiter.awaitResult(block, breaker);
+    }
+
+    /**
+     * Waits for the completion of a Future and returns its outcome as {@link Result} without throwing.
+     *
+     * @param <T>    The type of the result
+     * @param future The Future to await
+     * @return The successful or failed result of the Future
+     */
+    public static <T> Result<T> awaitResult(Future<T> future) {
+        return defaultAwaiter.awaitResult(future);
+    }
+
+    /**
+     * Waits for the completion of a Future and returns its outcome as {@link Result} without throwing.
+     *
+     * @param <T>    The type of the result
+     * @param future The Future to await
+     * @param millis The maximum time to wait for the future to complete, in milliseconds
+     * @return The successful or failed result of the Future
+     */
+    public static <T> Result<T> awaitResult(Future<T> future, long millis) {
+        return defaultAwaiter.awaitResult(future, millis);
+    }
+
+    /**
+     * Waits for the completion of a CompletableFuture and returns its outcome as {@link Result} without throwing.
+     * No virtual thread is started: the calling thread parks until the future completes.
+     *
+     * @param <T>               The type of the result
+     * @param completableFuture The CompletableFuture to await
+     * @return The successful or failed result of the CompletableFuture
+     */
+    public static <T> Result<T> awaitResult(CompletableFuture<T> completableFuture) {
+        return defaultAwaiter.awaitResult(completableFuture);
+    }
+
+    /**
+     * Waits for the completion of a CompletableFuture and returns its outcome as {@link Result} without throwing.
+     * No virtual thread is started: the calling thread parks until the future completes or the timeout elapses.
+     *
+     * @param <T>               The type of the result
+     * @param completableFuture The CompletableFuture to await
+     * @param millis            The maximum time to wait for the future to complete, in milliseconds
+     * @return The successful or failed result of the CompletableFuture
+     */
+    public static <T> Result<T> awaitResult(CompletableFuture<T> completableFuture, long millis) {
+        return defaultAwaiter.awaitResult(completableFuture, millis);
+    }
+
+    /**
+     * Applies the function to the argument asynchronously and returns its result.
+     * <p>
+     * The argument is passed along with the function, so bulk call sites do not need to allocate
+     * a lambda capturing each element:
+     * </p>
+     * <pre>{@code
+     * final var user = Async.awaitApply(repository::loadUser, userId);
+     * }</pre>
+     *
+     * @param <A>      The type of the argument
+     * @param <R>      The type of the result
+     * @param function The function to be applied asynchronously
+     * @param argument The argument of the function
+     * @param millis   The maximum time to wait for the function to complete, in milliseconds
+     * @return The result of the function
+     * @throws CompletionException   if the virtual thread is interrupted, if the function throws an exception
+     *                               or does not complete in time
+     * @throws Error                 if the function throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     */
+    public static <A, R> R awaitApply(ThrowingFunction<? super A, ? extends R> function, A argument, long millis) {
+        return defaultAwaiter.awaitApply(function, argument, millis);
+    }
+
+    /**
+     * Applies the function to the argument asynchronously and returns its result.
+     *
+     * @param <A>      The type of the argument
+     * @param <R>      The type of the result
+     * @param function The function to be applied asynchronously
+     * @param argument The argument of the function
+     * @return The result of the function
+     * @throws CompletionException   if the virtual thread is interrupted or if the function throws an exception
+     * @throws Error                 if the function throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     * @see #awaitApply(ThrowingFunction, Object, long)
+     */
+    public static <A, R> R awaitApply(ThrowingFunction<? super A, ? extends R> function, A argument) {
+        return defaultAwaiter.awaitApply(function, argument);
+    }
+
+    /**
+     * Applies the function to the arguments asynchronously and returns its result.
+     *
+     * @param <A>      The type of the first argument
+     * @param <B>      The type of the second argument
+     * @param <R>      The type of the result
+     * @param function The function to be applied asynchronously
+     * @param first    The first argument of the function
+     * @param second   The second argument of the function
+     * @param millis   The maximum time to wait for the function to complete, in milliseconds
+     * @return The result of the function
+     * @throws CompletionException   if the virtual thread is interrupted, if the function throws an exception
+     *                               or does not complete in time
+     * @throws Error                 if the function throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     */
+    public static <A, B, R> R awaitApply(ThrowingBiFunction<? super A, ? super B, ? extends R> function,
+                                         A first, B second, long millis) {
+        return defaultAwaiter.awaitApply(function, first, second, millis);
+    }
+
+    /**
+     * Applies the function to the arguments asynchronously and returns its result.
+     *
+     * @param <A>      The type of the first argument
+     * @param <B>      The type of the second argument
+     * @param <R>      The type of the result
+     * @param function The function to be applied asynchronously
+     * @param first    The first argument of the function
+     * @param second   The second argument of the function
+     * @return The result of the function
+     * @throws CompletionException   if the virtual thread is interrupted or if the function throws an exception
+     * @throws Error                 if the function throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     */
+    public static <A, B, R> R awaitApply(ThrowingBiFunction<? super A, ? super B, ? extends R> function,
+                                         A first, B second) {
+        return defaultAwaiter.awaitApply(function, first, second);
+    }
+
+    /**
+     * Passes the argument to the consumer asynchronously and waits for its completion.
+     *
+     * @param <A>      The type of the argument
+     * @param consumer The consumer to be called asynchronously
+     * @param argument The argument of the consumer
+     * @param millis   The maximum time to wait for the consumer to complete, in milliseconds
+     * @throws CompletionException   if the virtual thread is interrupted, if the consumer throws an exception
+     *                               or does not complete in time
+     * @throws Error                 if the consumer throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     */
+    public static <A> void awaitAccept(ThrowingConsumer<? super A> consumer, A argument, long millis) {
+        defaultAwaiter.awaitAccept(consumer, argument, millis);
+    }
+
+    /**
+     * Passes the argument to the consumer asynchronously and waits for its completion.
+     *
+     * @param <A>      The type of the argument
+     * @param consumer The consumer to be called asynchronously
+     * @param argument The argument of the consumer
+     * @throws CompletionException   if the virtual thread is interrupted or if the consumer throws an exception
+     * @throws Error                 if the consumer throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     */
+    public static <A> void awaitAccept(ThrowingConsumer<? super A> consumer, A argument) {
+        defaultAwaiter.awaitAccept(consumer, argument);
+    }
+
+    /**
+     * Executes a block returning {@code int} asynchronously and returns its result without boxing.
+     *
+     * @param block  The block to be executed asynchronously
+     * @param millis The maximum time to wait for the block to complete, in milliseconds
+     * @return The result of the block
+     * @throws CompletionException   if the virtual thread is interrupted, if the block throws an exception
+     *                               or does not complete in time
+     * @throws Error                 if the block throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     */
+    public static int awaitInt(ThrowingIntSupplier block, long millis) {
+        return defaultAwaiter.awaitInt(block, millis);
+    }
+
+    /**
+     * Executes a block returning {@code int} asynchronously and returns its result without boxing.
+     *
+     * @param block The block to be executed asynchronously
+     * @return The result of the block
+     * @throws CompletionException   if the virtual thread is interrupted or if the block throws an exception
+     * @throws Error                 if the block throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     */
+    public static int awaitInt(ThrowingIntSupplier block) {
+        return defaultAwaiter.awaitInt(block);
+    }
+
+    /**
+     * Executes a block returning {@code int} asynchronously and returns its outcome as {@link IntResult}
+     * without boxing and without throwing.
+     *
+     * @param block  The block to be executed asynchronously
+     * @param millis The maximum time to wait for the block to complete, in milliseconds
+     * @return The successful or failed result of the block
+     * @see #awaitResult(Callable, long)
+     */
+    public static IntResult awaitIntResult(ThrowingIntSupplier block, long millis) {
+        return defaultAwaiter.awaitIntResult(block, millis);
+    }
+
+    /**
+     * Executes a block returning {@code int} asynchronously and returns its outcome as {@link IntResult}
+     * without boxing and without throwing.
+     *
+     * @param block The block to be executed asynchronously
+     * @return The successful or failed result of the block
+     */
+    public static IntResult awaitIntResult(ThrowingIntSupplier block) {
+        return defaultAwaiter.awaitIntResult(block);
+    }
+
+    /**
+     * Executes a block returning {@code long} asynchronously and returns its result without boxing.
+     *
+     * @param block  The block to be executed asynchronously
+     * @param millis The maximum time to wait for the block to complete, in milliseconds
+     * @return The result of the block
+     * @throws CompletionException   if the virtual thread is interrupted, if the block throws an exception
+     *                               or does not complete in time
+     * @throws Error                 if the block throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     */
+    public static long awaitLong(ThrowingLongSupplier block, long millis) {
+        return defaultAwaiter.awaitLong(block, millis);
+    }
+
+    /**
+     * Executes a block returning {@code long} asynchronously and returns its result without boxing.
+     *
+     * @param block The block to be executed asynchronously
+     * @return The result of the block
+     * @throws CompletionException   if the virtual thread is interrupted or if the block throws an exception
+     * @throws Error                 if the block throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     */
+    public static long awaitLong(ThrowingLongSupplier block) {
+        return defaultAwaiter.awaitLong(block);
+    }
+
+    /**
+     * Executes a block returning {@code long} asynchronously and returns its outcome as {@link LongResult}
+     * without boxing and without throwing.
+     *
+     * @param block  The block to be executed asynchronously
+     * @param millis The maximum time to wait for the block to complete, in milliseconds
+     * @return The successful or failed result of the block
+     * @see #awaitResult(Callable, long)
+     */
+    public static LongResult awaitLongResult(ThrowingLongSupplier block, long millis) {
+        return defaultAwaiter.awaitLongResult(block, millis);
+    }
+
+    /**
+     * Executes a block returning {@code long} asynchronously and returns its outcome as {@link LongResult}
+     * without boxing and without throwing.
+     *
+     * @param block The block to be executed asynchronously
+     * @return The successful or failed result of the block
+     */
+    public static LongResult awaitLongResult(ThrowingLongSupplier block) {
+        return defaultAwaiter.awaitLongResult(block);
+    }
+
+    /**
+     * Executes a block returning {@code double} asynchronously and returns its result without boxing.
+     *
+     * @param block  The block to be executed asynchronously
+     * @param millis The maximum time to wait for the block to complete, in milliseconds
+     * @return The result of the block
+     * @throws CompletionException   if the virtual thread is interrupted, if the block throws an exception
+     *                               or does not complete in time
+     * @throws Error                 if the block throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     */
+    public static double awaitDouble(ThrowingDoubleSupplier block, long millis) {
+        return defaultAwaiter.awaitDouble(block, millis);
+    }
+
+    /**
+     * Executes a block returning {@code double} asynchronously and returns its result without boxing.
+     *
+     * @param block The block to be executed asynchronously
+     * @return The result of the block
+     * @throws CompletionException   if the virtual thread is interrupted or if the block throws an exception
+     * @throws Error                 if the block throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     */
+    public static double awaitDouble(ThrowingDoubleSupplier block) {
+        return defaultAwaiter.awaitDouble(block);
+    }
+
+    /**
+     * Executes a block returning {@code double} asynchronously and returns its outcome as {@link DoubleResult}
+     * without boxing and without throwing.
+     *
+     * @param block  The block to be executed asynchronously
+     * @param millis The maximum time to wait for the block to complete, in milliseconds
+     * @return The successful or failed result of the block
+     * @see #awaitResult(Callable, long)
+     */
+    public static DoubleResult awaitDoubleResult(ThrowingDoubleSupplier block, long millis) {
+        return defaultAwaiter.awaitDoubleResult(block, millis);
+    }
+
+    /**
+     * Executes a block returning {@code double} asynchronously and returns its outcome as {@link DoubleResult}
+     * without boxing and without throwing.
+     *
+     * @param block The block to be executed asynchronously
+     * @return The successful or failed result of the block
+     */
+    public static DoubleResult awaitDoubleResult(ThrowingDoubleSupplier block) {
+        return defaultAwaiter.awaitDoubleResult(block);
+    }
+
+    /**
+     * Executes callable blocks in parallel, each on its own virtual thread, and returns their results.
+     * <p>
+     * The total latency is the latency of the slowest block rather than the sum of all latencies.
+     * On the first failure, the remaining blocks are cancelled and their threads are interrupted,
+     * and the failure is translated the same way as by {@link #await(Callable)}.
+     * </p>
+     *
+     * @param <T>    The type of the results
+     * @param blocks The callable blocks to be executed asynchronously
+     * @return The results of the blocks, in the order of the input collection
+     * @throws CompletionException   if the waiting thread is interrupted or if a block throws an exception
+     * @throws Error                 if a block throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     */
+    public static <T> List<T> awaitAll(Collection<? extends Callable<? extends T>> blocks) {
+        return defaultAwaiter.awaitAll(blocks);
+    }
+
+    /**
+     * Executes callable blocks in parallel, each on its own virtual thread, and returns their results.
+     * <p>
+     * On the first failure or when the timeout elapses, the remaining blocks are cancelled
+     * and their threads are interrupted.
+     * </p>
+     *
+     * @param <T>    The type of the results
+     * @param blocks The callable blocks to be executed asynchronously
+     * @param millis The maximum time to wait for all blocks to complete, in milliseconds
+     * @return The results of the blocks, in the order of the input collection
+     * @throws CompletionException   if the waiting thread is interrupted, if a block throws an exception
+     *                               or if blocks do not complete in time
+     * @throws Error                 if a block throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     */
+    public static <T> List<T> awaitAll(Collection<? extends Callable<? extends T>> blocks, long millis) {
+        return defaultAwaiter.awaitAll(blocks, millis);
+    }
+
+    /**
+     * Executes callable blocks in parallel, each on its own virtual thread,
+     * and returns the result of the first block completing successfully.
+     * <p>
+     * As soon as a block succeeds, the remaining blocks are cancelled and their threads are interrupted,
+     * so they stop using connections and other resources. The call fails only if every block fails:
+     * the first failure is thrown with the other failures attached as
+     * {@linkplain Throwable#getSuppressed() suppressed}.
+     * </p>
+     *
+     * @param <T>    The type of the results
+     * @param blocks The callable blocks to be executed asynchronously
+     * @return The result of the first successful block
+     * @throws CompletionException      if the waiting thread is interrupted or if all blocks throw exceptions
+     * @throws Error                    if all blocks fail and the first failure is an Error
+     * @throws IllegalArgumentException if there are no blocks
+     */
+    @SafeVarargs
+    public static <T> T awaitAny(Callable<? extends T>... blocks) {
+        final var list = new ArrayList<Callable<? extends T>>(blocks.length);
+        for (final Callable<? extends T> block : blocks) {
+            list.add(block); // copied, so the generic varargs array is not passed on
+        }
+        return defaultAwaiter.awaitAny(list, 0);
+    }
+
+    /**
+     * Executes callable blocks in parallel, each on its own virtual thread,
+     * and returns the result of the first block completing successfully.
+     *
+     * @param <T>    The type of the results
+     * @param blocks The callable blocks to be executed asynchronously
+     * @param millis The maximum time to wait for a successful block, in milliseconds
+     * @return The result of the first successful block
+     * @throws CompletionException      if the waiting thread is interrupted, if all blocks throw exceptions
+     *                                  or if no block succeeds in time
+     * @throws Error                    if all blocks fail and the first failure is an Error
+     * @throws IllegalArgumentException if there are no blocks
+     * @see #awaitAny(Callable[])
+     */
+    public static <T> T awaitAny(Collection<? extends Callable<? extends T>> blocks, long millis) {
+        return defaultAwaiter.awaitAny(blocks, millis);
+    }
+
+    /**
+     * Executes a callable block and, if it does not complete within the hedge delay of the policy,
+     * starts a backup attempt on another virtual thread and returns the result of the first successful attempt.
+     *
+     * @param <T>    The type of the result
+     * @param block  The idempotent callable block to be executed asynchronously
+     * @param policy The hedge policy, shared by the calls to the same dependency
+     * @return The result of the first successful attempt
+     * @throws CompletionException   if the waiting thread is interrupted or if all attempts throw exceptions
+     * @throws Error                 if all attempts fail and the first failure is an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     * @see Awaiter#awaitHedged(Callable, HedgePolicy, long)
+     */
+    public static <T> T awaitHedged(Callable<? extends T> block, HedgePolicy policy) {
+        return defaultAwaiter.awaitHedged(block, policy);
+    }
+
+    /**
+     * Executes a callable block and, if it does not complete within the hedge delay of the policy,
+     * starts a backup attempt on another virtual thread and returns the result of the first successful attempt.
+     *
+     * @param <T>    The type of the result
+     * @param block  The idempotent callable block to be executed asynchronously
+     * @param policy The hedge policy, shared by the calls to the same dependency
+     * @param millis The maximum time to wait for a successful attempt, in milliseconds
+     * @return The result of the first successful attempt
+     * @throws CompletionException   if the waiting thread is interrupted, if all attempts throw exceptions
+     *                               or if no attempt succeeds in time
+     * @throws Error                 if all attempts fail and the first failure is an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     * @see Awaiter#awaitHedged(Callable, HedgePolicy, long)
+     */
+    public static <T> T awaitHedged(Callable<? extends T> block, HedgePolicy policy, long millis) {
+        return defaultAwaiter.awaitHedged(block, policy, millis);
+    }
+
+    /**
+     * Applies the function to each item in parallel on virtual threads,
+     * keeping at most {@code maxConcurrency} blocks in flight.
+     * <p>
+     * Unlike starting a virtual thread per item, this protects downstream services and connection pools
+     * from being overwhelmed by large inputs. Items are pulled from the iterable lazily,
+     * so pending items are never held in memory up front. Results are returned in the order of the items.
+     * On the first failure, the blocks in flight are cancelled and the failure is translated
+     * the same way as by {@link #await(Callable)}.
+     * </p>
+     *
+     * @param <T>            The type of the items
+     * @param <R>            The type of the results
+     * @param items          The items to map
+     * @param function       The function to apply to each item
+     * @param maxConcurrency The maximum number of blocks running at the same time
+     * @return The results, in the order of the items
+     * @throws CompletionException      if the waiting thread is interrupted or if the function throws an exception
+     * @throws Error                    if the function throws an Error
+     * @throws IllegalArgumentException if {@code maxConcurrency} is not positive
+     */
+    public static <T, R> List<R> mapParallel(Iterable<? extends T> items,
+                                             ThrowingFunction<? super T, ? extends R> function,
+                                             int maxConcurrency) {
+        return defaultAwaiter.mapParallel(items, function, maxConcurrency);
+    }
+
+    /**
+     * Applies the function to each element of the stream in parallel on virtual threads,
+     * keeping at most {@code maxConcurrency} blocks in flight.
+     * The stream is consumed lazily and closed afterwards.
+     *
+     * @param <T>            The type of the elements
+     * @param <R>            The type of the results
+     * @param items          The stream of elements to map
+     * @param function       The function to apply to each element
+     * @param maxConcurrency The maximum number of blocks running at the same time
+     * @return The results, in the encounter order of the stream
+     * @throws CompletionException      if the waiting thread is interrupted or if the function throws an exception
+     * @throws Error                    if the function throws an Error
+     * @throws IllegalArgumentException if {@code maxConcurrency} is not positive
+     * @see #mapParallel(Iterable, ThrowingFunction, int)
+     */
+    public static <T, R> List<R> mapParallel(Stream<? extends T> items,
+                                             ThrowingFunction<? super T, ? extends R> function,
+                                             int maxConcurrency) {
+        return defaultAwaiter.mapParallel(items, function, maxConcurrency);
+    }
+
+    /**
+     * Executes callable blocks in parallel, each on its own virtual thread,
+     * and streams their results in completion order.
+     * <p>
+     * Each result can be processed as soon as it arrives instead of waiting for the slowest block,
+     * which pipelines post-processing of large fan-outs. Failures are not thrown, but returned as
+     * {@linkplain Result#isFailure() failed} results. Closing the stream cancels the blocks
+     * which have not completed yet:
+     * </p>
+     * <pre>{@code
+     * try (final var results = Async.awaitCompletions(shardQueries)) {
+     *     results.forEach(result -> aggregate(result));
+     * }
+     * }</pre>
+     *
+     * @param <T>    The type of the results
+     * @param blocks The callable blocks to be executed asynchronously
+     * @return The sequential stream of results in completion order
+     * @throws CompletionException if the thread consuming the stream is interrupted
+     */
+    public static <T> Stream<Result<T>> awaitCompletions(Collection<? extends Callable<? extends T>> blocks) {
+        return defaultAwaiter.awaitCompletions(blocks);
+    }
+
+    /**
+     * Starts a block of code on a new virtual thread without waiting for its completion.
+     * <p>
+     * Use it for background side effects, such as audit writes or cache warm-ups. Failures are passed to
+     * the uncaught exception handler of the virtual thread; configure an {@link Awaiter} with
+     * {@link Awaiter.Builder#launchErrorHandler(LaunchErrorHandler)} to handle them differently.
+     * Call {@link #drain(Duration)} during shutdown to let launched blocks complete.
+     * </p>
+     *
+     * @param block The code to be executed in the background
+     */
+    public static void launch(ThrowingRunnable block) {
+        defaultAwaiter.launch(block);
+    }
+
+    /**
+     * Waits for blocks started with {@link #launch(ThrowingRunnable)} to complete, typically during shutdown.
+     *
+     * @param timeout The maximum time to wait
+     * @return {@code true} if no launched blocks are running, {@code false} if the timeout elapsed
+     * @throws CompletionException if the waiting thread is interrupted
+     */
+    public static boolean drain(Duration timeout) {
+        return defaultAwaiter.drain(timeout);
+    }
+
+    /**
+     * Returns the number of blocks started with {@link #launch(ThrowingRunnable)} which have not completed yet.
+     *
+     * @return the number of blocks in flight
+     */
+    public static long inFlightTaskCount() {
+        return defaultAwaiter.inFlightTaskCount();
+    }
+
+    /**
+     * Returns the number of blocks started with {@link #launch(ThrowingRunnable)} which have failed.
+     *
+     * @return the number of failed blocks
+     */
+    public static long failedTaskCount() {
+        return defaultAwaiter.failedTaskCount();
+    }
+
+    /**
+     * Returns the number of tasks abandoned because they did not complete within the timeout.
+     *
+     * @return the number of tasks abandoned by the default {@link Awaiter}
+     */
+    public static long abandonedTaskCount() {
+        return defaultAwaiter.abandonedTaskCount();
+    }
+
+    /**
+     * Returns the number of tasks cancelled because the waiting thread was interrupted,
+     * or because a {@linkplain #awaitCompletions(Collection) stream of completions} was closed before they completed.
+     *
+     * @return the number of tasks cancelled by the default {@link Awaiter}
+     */
+    public static long cancelledTaskCount() {
+        return defaultAwaiter.cancelledTaskCount();
+    }
+
+    static CompletionException deadlineExceededException() {
+        return new CompletionException("Async task timed out", new TimeoutException("Deadline exceeded"));
+    }
+
+    static CompletionException timeoutException(long millis) {
+        return new CompletionException(
+            "Async task timed out",
+            new TimeoutException("Async task did not complete in " + millis + " ms")
+        );
+    }
+
+    /**
+     * Runs a block of code with error handling.
+     * <p>
+     * Any {@link Exception}, including {@link RuntimeException}, is wrapped into {@link CompletionException},
+     * the same way as {@link ThrowingRunnable#toRunnable(ThrowingRunnable)} does,
+     * unless wrapping is disabled by {@link ExceptionWrapping#NONE}.
+     * </p>
+     *
+     * @param block    the block of code to run
+     * @param wrapping the mode of wrapping exceptions
+     * @return {@code null} on success, otherwise the failure to rethrow
+     */
+    @SuppressWarnings("java:S1181")
+    static Throwable runWithErrorHandling(ThrowingRunnable block, ExceptionWrapping wrapping) {
+        try {
+            block.run();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restore the interrupted status
+            return wrapping.wrap(INTERRUPTED_MESSAGE, e);
+        } catch (Error e) {
+            return e;
+        } catch (Exception e) {
+            return wrapping.wrap(null, e);
+        }
+    }
 
     /**
      * Executes a block of code with error handling.
      * <p>
      * This method attempts to call the provided {@link Callable} block, handling
-     * various exceptions that may be thrown during its execution. It specifically
-     * handles {@link InterruptedException}, {@link ExecutionException}, and
-     * other general exceptions by rethrowing them as {@link RuntimeException}.
+     * various exceptions that may be thrown during its execution.
+     * Failures are translated by {@link #translateFailure(Throwable, ExceptionWrapping)}.
      * </p>
      *
-     * @param block the block of code to execute
-     * @param <T>   the type of result returned by the block
+     * @param block    the block of code to execute
+     * @param wrapping the mode of wrapping checked exceptions
+     * @param <T>      the type of result returned by the block
      * @return the result of the block
-     * @throws RuntimeException if an {@link InterruptedException},
-     *                          {@link ExecutionException}, or any other exception occurs
      */
     @SuppressWarnings("java:S1181")
-    private static <T> Result<T> callWithErrorHandling(Callable<T> block) {
+    static <T> Result<T> callWithErrorHandling(Callable<T> block, ExceptionWrapping wrapping) {
         try {
             return Result.success(block.call());
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // Restore the interrupted status
-            return Result.failure(
-                new CompletionException("Can't execute async task: interrupted", e)
-            );
-        } catch (Error e) {
-            return Result.failure(e);
-        } catch (CompletionException | ExecutionException e) {
-            final Throwable cause = e.getCause();
-            if (cause instanceof Error) {
-                return Result.failure(cause);
-            } else {
-                return Result.failure(toRuntimeException(cause));
-            }
         } catch (Throwable e) {
-            return Result.failure(toRuntimeException(e));
+            return Result.failure(translateFailure(e, wrapping));
         }
     }
 
+    /**
+     * Translates a failure of a block to {@link Error} or {@link RuntimeException}.
+     * <p>
+     * It specifically handles {@link InterruptedException} by restoring the interrupted status,
+     * unwraps the cause of {@link CompletionException} and {@link ExecutionException},
+     * and wraps other checked exceptions according to {@link ExceptionWrapping#CURRENT}.
+     * </p>
+     *
+     * @param throwable the failure thrown by the block
+     * @return the translated failure
+     */
+    static Throwable translateFailure(Throwable throwable) {
+        return translateFailure(throwable, ExceptionWrapping.CURRENT);
+    }
+
+    /**
+     * Translates a failure of a block the same way as {@link #translateFailure(Throwable)},
+     * wrapping checked exceptions according to the given mode.
+     *
+     * @param throwable the failure thrown by the block
+     * @param wrapping  the mode of wrapping checked exceptions
+     * @return the translated failure
+     */
+    static Throwable translateFailure(Throwable throwable, ExceptionWrapping wrapping) {
+        return switch (throwable) {
+            case InterruptedException e -> {
+                Thread.currentThread().interrupt(); // Restore the interrupted status
+                yield wrapping.wrap(INTERRUPTED_MESSAGE, e);
+            }
+            case Error e -> e;
+            case CompletionException e -> unwrapFailure(e, wrapping);
+            case ExecutionException e -> unwrapFailure(e, wrapping);
+            default -> wrapCheckedException(throwable, wrapping);
+        };
+    }
+
+    /**
+     * Translates a failure reported by {@link CompletableFuture} the same way,
+     * as if {@link CompletableFuture#join()} has been called by the block.
+     *
+     * @param throwable the exceptional completion of the future
+     * @param wrapping  the mode of wrapping checked exceptions
+     * @return the translated failure
+     */
+    static Throwable translateFutureFailure(Throwable throwable, ExceptionWrapping wrapping) {
+        if (throwable instanceof CompletionException) {
+            return unwrapFailure(throwable, wrapping);
+        } else if (throwable instanceof Error) {
+            return throwable;
+        } else {
+            return wrapCheckedException(throwable, wrapping);
+        }
+    }
+
+    private static Throwable unwrapFailure(Throwable e, ExceptionWrapping wrapping) {
+        final Throwable cause = e.getCause();
+        if (cause instanceof Error) {
+            return cause;
+        } else {
+            return wrapCheckedException(cause, wrapping);
+        }
+    }
+
+    /**
+     * Rethrows a translated failure. A translated failure is a checked exception only if it has been
+     * translated with wrapping {@linkplain ExceptionWrapping#NONE disabled}, so it is rethrown as is.
+     *
+     * @param failure the failure to rethrow
+     * @return never returns normally, declared to allow {@code throw rethrow(failure)}
+     * @throws Error                 if the failure is an Error
+     * @throws RuntimeException      if the failure is a RuntimeException
+     * @throws Exception             if the failure is a checked exception
+     * @throws IllegalStateException if an unexpected throwable is encountered
+     */
+    static RuntimeException rethrow(Throwable failure) {
+        switch (failure) {
+            case RuntimeException re -> throw re;
+            case Error e -> throw e;
+            case Exception e -> throw sneakyThrow(e);
+            default -> throw new IllegalStateException("Unexpected throwable in call Result:" + failure, failure);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E extends Throwable> RuntimeException sneakyThrow(Throwable throwable) throws E {
+        throw (E) throwable;
+    }
+
     @SuppressWarnings("java:S1181")
-    private static <T> boolean shortCircuitDoneFuture(Future<T> future) {
+    static <T> boolean shortCircuitDoneFuture(Future<T> future, ExceptionWrapping wrapping) {
         try {
             if (future.isDone()) {
                 if (future.isCancelled()) {
@@ -225,18 +1087,36 @@ public class Async {
         } catch (Error e) {
             throw e;
         } catch (ExecutionException e) {
-            throw toRuntimeException(e.getCause());
+            throw rethrow(wrapCheckedException(e.getCause(), wrapping));
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new CompletionException("Interrupted while waiting for future", e);
         }
     }
 
-    private static RuntimeException toRuntimeException(Throwable cause) {
+    /**
+     * Returns the outcome of a future which is already done, translated the same way
+     * as by {@link #shortCircuitDoneFuture(Future, ExceptionWrapping)}, but without throwing.
+     *
+     * @param future   the future to check
+     * @param wrapping the mode of wrapping checked exceptions
+     * @param <T>      the type of the result
+     * @return the result, or {@code null} if the future is not done yet
+     */
+    static <T> Result<T> doneFutureResult(Future<T> future, ExceptionWrapping wrapping) {
+        return switch (future.state()) {
+            case RUNNING -> null;
+            case SUCCESS -> Result.success(future.resultNow());
+            case FAILED -> Result.failure(translateFutureFailure(future.exceptionNow(), wrapping));
+            case CANCELLED -> Result.failure(new CancellationException("Execution is cancelled"));
+        };
+    }
+
+    private static Throwable wrapCheckedException(Throwable cause, ExceptionWrapping wrapping) {
         return switch (cause) {
             case RuntimeException re -> re;
             case Error e -> throw e;
-            default -> new CompletionException("Can't execute async task: exception", cause);
+            default -> wrapping.wrap("Can't execute async task: exception", cause);
         };
     }
 
@@ -0,0 +1,81 @@
+package me.kpavlov.await4j;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link CompletableFuture} completed by a block running on its own thread, see {@link Awaiter#async(Callable)}.
+ * <p>
+ * The future is completed with the outcome of the block as is, the same way as by
+ * {@link CompletableFuture#supplyAsync(java.util.function.Supplier)}. Unlike a plain {@code CompletableFuture},
+ * {@linkplain #cancel(boolean) cancelling} it with {@code mayInterruptIfRunning} interrupts the thread
+ * running the block.
+ * </p>
+ *
+ * @param <T> the type of the result
+ */
+final class AsyncFuture<T> extends CompletableFuture<T> {
+
+    private final Task task;
+
+    AsyncFuture(Callable<? extends T> block) {
+        this.task = new Task(block);
+    }
+
+    /**
+     * Returns the task to be started, which completes this future.
+     *
+     * @return the task running the block
+     */
+    Runnable task() {
+        return task;
+    }
+
+    /**
+     * Cancels the future and the block, unless it is already completed.
+     *
+     * @param mayInterruptIfRunning {@code true} to interrupt the thread running the block
+     * @return {@code true} if this future is now cancelled
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        final boolean cancelled = super.cancel(mayInterruptIfRunning);
+        if (cancelled) {
+            task.cancel(mayInterruptIfRunning);
+        }
+        return cancelled;
+    }
+
+    /**
+     * Task calling the block and completing the future. The future is not completed
+     * if the task is cancelled, because cancelling the future has completed it already.
+     */
+    private final class Task extends AwaitTask<T> {
+
+        private final Callable<? extends T> block;
+
+        private Task(Callable<? extends T> block) {
+            this.block = block;
+        }
+
+        @Override
+        @SuppressWarnings("java:S1181")
+        Throwable execute() {
+            try {
+                value = block.call();
+                return null;
+            } catch (Throwable e) {
+                return e;
+            }
+        }
+
+        @Override
+        void done() {
+            if (failure == null) {
+                AsyncFuture.this.complete(value);
+            } else {
+                AsyncFuture.this.completeExceptionally(failure);
+            }
+        }
+    }
+}
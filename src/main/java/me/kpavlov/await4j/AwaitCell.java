@@ -0,0 +1,176 @@
+package me.kpavlov.await4j;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+
+/**
+ * The cell holding the outcome of a single await operation, completed by another party
+ * while the thread that has created it waits.
+ * <p>
+ * The outcome is kept in plain fields and published by the volatile write of the {@code state}.
+ * The awaiting thread parks until the cell is done, see {@link #join(long)}.
+ * A cell which is abandoned by the waiter can be {@linkplain #cancel(boolean) cancelled}.
+ * Possible state transitions of a cell are:
+ * <pre>
+ * NEW -&gt; COMPLETING -&gt; DONE (see {@link #complete(Object, Throwable)})
+ * NEW -&gt; CANCELLED
+ * </pre>
+ * {@link AwaitTask} adds the {@code RUNNING} and {@code INTERRUPTING} states of a cell completed by running a block.
+ *
+ * @param <T> the type of the result
+ */
+abstract class AwaitCell<T> {
+
+    static final int NEW = 0;
+    static final int RUNNING = 1;
+    static final int COMPLETING = 2;
+    static final int DONE = 3;
+    static final int CANCELLED = 4;
+    static final int INTERRUPTING = 5;
+
+    static final VarHandle STATE;
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(AwaitCell.class, "state", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Thread waiter;
+    volatile int state;
+    T value;
+    Throwable failure;
+    /**
+     * The mode of wrapping checked exceptions, set by the awaiter before the cell can be completed.
+     */
+    ExceptionWrapping wrapping = ExceptionWrapping.CURRENT;
+
+    AwaitCell() {
+        this.waiter = Thread.currentThread();
+    }
+
+    /**
+     * Invoked when the cell is done. Unparks the waiter by default.
+     */
+    void done() {
+        LockSupport.unpark(waiter);
+    }
+
+    /**
+     * Completes the cell with the outcome supplied by another party.
+     * Does nothing if the cell is already running, done or cancelled, so the outcome is never overwritten.
+     *
+     * @param value   the result value
+     * @param failure the translated failure, or {@code null} on success
+     */
+    final void complete(T value, Throwable failure) {
+        if (STATE.compareAndSet(this, NEW, COMPLETING)) {
+            this.value = value; // published by the state write below
+            this.failure = failure;
+            state = DONE;
+            done();
+        }
+    }
+
+    /**
+     * Cancels the cell abandoned by the waiter, unless it is already done.
+     *
+     * @param mayInterruptIfRunning {@code true} to interrupt the thread completing the cell, if any
+     * @return {@code true} if the cell has been cancelled, {@code false} if it is already done
+     */
+    boolean cancel(boolean mayInterruptIfRunning) {
+        return STATE.compareAndSet(this, NEW, CANCELLED);
+    }
+
+    /**
+     * Checks if the cell is completed.
+     *
+     * @return {@code true} if the cell is done
+     */
+    final boolean isDone() {
+        return state == DONE;
+    }
+
+    /**
+     * Checks if the cell is cancelled.
+     *
+     * @return {@code true} if the cell is cancelled, or the thread running it is being interrupted
+     */
+    final boolean isCancelled() {
+        return state >= CANCELLED;
+    }
+
+    /**
+     * Waits for the cell to complete. Must be called by the thread that has created the cell.
+     *
+     * @param millis the maximum time to wait in milliseconds, {@code 0} means to wait forever
+     * @return {@code true} if the cell is done, {@code false} if the waiting time elapsed
+     * @throws InterruptedException     if the waiting thread is interrupted
+     * @throws IllegalArgumentException if the value of {@code millis} is negative
+     */
+    final boolean join(long millis) throws InterruptedException {
+        if (millis < 0) {
+            throw new IllegalArgumentException("timeout value is negative");
+        }
+        if (millis == 0) {
+            while (state != DONE) {
+                LockSupport.park(this);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+            return true;
+        }
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        while (state != DONE) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the result of the completed cell or rethrows its failure.
+     *
+     * @return the result value
+     */
+    final T getOrThrow() {
+        if (failure != null) {
+            throw Async.rethrow(failure);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the outcome of the completed cell as {@link Result}.
+     *
+     * @return the successful or failed result
+     */
+    final Result<T> toResult() {
+        return failure == null ? Result.success(value) : Result.failure(failure);
+    }
+
+    /**
+     * Cell completed by a {@link CompletableFuture} callback, so no thread is involved:
+     * the waiter is unparked by the thread completing the future.
+     */
+    static final class WhenCompleteCell<T> extends AwaitCell<T> implements BiConsumer<T, Throwable> {
+
+        @Override
+        public void accept(T result, Throwable throwable) {
+            complete(result, throwable == null ? null : Async.translateFutureFailure(throwable, wrapping));
+        }
+    }
+}
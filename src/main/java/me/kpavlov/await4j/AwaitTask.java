@@ -0,0 +1,312 @@
+package me.kpavlov.await4j;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single await operation: the {@link Runnable} executed by the virtual thread and, at the same time,
+ * the {@linkplain AwaitCell cell} holding its outcome, so awaiting a block costs exactly one task object
+ * besides the thread itself.
+ * <p>
+ * The {@linkplain Deadline deadline} of the creating thread is captured and applies to the block as well.
+ * Possible state transitions are the same as in {@link java.util.concurrent.FutureTask}:
+ * <pre>
+ * NEW -&gt; RUNNING -&gt; DONE
+ * NEW -&gt; COMPLETING -&gt; DONE (completed without running, see {@link #complete(Object, Throwable)})
+ * NEW -&gt; CANCELLED
+ * RUNNING -&gt; CANCELLED
+ * RUNNING -&gt; INTERRUPTING -&gt; CANCELLED
+ * </pre>
+ *
+ * @param <T> the type of the result
+ */
+abstract class AwaitTask<T> extends AwaitCell<T> implements Runnable {
+
+    private final Deadline deadline;
+    private Thread runner;
+
+    AwaitTask() {
+        this.deadline = Deadline.current();
+    }
+
+    /**
+     * Executes the block and stores its outcome.
+     *
+     * @return {@code null} on success, otherwise the translated failure
+     */
+    abstract Throwable execute();
+
+    @Override
+    public final void run() {
+        runner = Thread.currentThread(); // published by the state transition below
+        if (!STATE.compareAndSet(this, NEW, RUNNING)) {
+            return; // cancelled before started
+        }
+        final Deadline previous = deadline == null ? null : Deadline.enter(deadline);
+        try {
+            failure = execute();
+        } finally {
+            if (deadline != null) {
+                Deadline.restore(previous);
+            }
+            if (STATE.compareAndSet(this, RUNNING, DONE)) {
+                done();
+            } else {
+                // abandoned by the waiter, wait for a pending interrupt to be delivered
+                while (state == INTERRUPTING) {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+    }
+
+    /**
+     * Invoked when the task is cancelled before it has started, so {@link #execute()} is never called.
+     * Does nothing by default.
+     */
+    void cancelledBeforeStart() {
+    }
+
+    /**
+     * Cancels the task abandoned by the waiter, unless it is already done.
+     *
+     * @param mayInterruptIfRunning {@code true} to interrupt the thread running the task,
+     *                              {@code false} to let it run to completion
+     * @return {@code true} if the task has been cancelled, {@code false} if it is already done
+     */
+    @Override
+    final boolean cancel(boolean mayInterruptIfRunning) {
+        if (super.cancel(mayInterruptIfRunning)) {
+            cancelledBeforeStart();
+            return true;
+        }
+        if (!mayInterruptIfRunning) {
+            return STATE.compareAndSet(this, RUNNING, CANCELLED);
+        }
+        if (STATE.compareAndSet(this, RUNNING, INTERRUPTING)) {
+            try {
+                runner.interrupt();
+            } finally {
+                state = CANCELLED;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Task calling a {@link Callable}.
+     */
+    static final class CallTask<T> extends AwaitTask<T> {
+
+        private final Callable<T> block;
+
+        CallTask(Callable<T> block) {
+            this.block = block;
+        }
+
+        @Override
+        @SuppressWarnings("java:S1181")
+        Throwable execute() {
+            try {
+                value = block.call();
+                return null;
+            } catch (Throwable e) {
+                return Async.translateFailure(e, wrapping);
+            }
+        }
+    }
+
+    /**
+     * Task running a {@link ThrowingRunnable}.
+     */
+    static final class RunTask extends AwaitTask<Void> {
+
+        private final ThrowingRunnable block;
+
+        RunTask(ThrowingRunnable block) {
+            this.block = block;
+        }
+
+        @Override
+        Throwable execute() {
+            return Async.runWithErrorHandling(block, wrapping);
+        }
+    }
+
+    /**
+     * Task applying a {@link ThrowingFunction} to an argument, so no lambda capturing the argument is needed.
+     */
+    static final class ApplyTask<A, R> extends AwaitTask<R> {
+
+        private final ThrowingFunction<? super A, ? extends R> function;
+        private final A argument;
+
+        ApplyTask(ThrowingFunction<? super A, ? extends R> function, A argument) {
+            this.function = function;
+            this.argument = argument;
+        }
+
+        @Override
+        @SuppressWarnings("java:S1181")
+        Throwable execute() {
+            try {
+                value = function.apply(argument);
+                return null;
+            } catch (Throwable e) {
+                return Async.translateFailure(e, wrapping);
+            }
+        }
+    }
+
+    /**
+     * Task applying a {@link ThrowingBiFunction} to two arguments.
+     */
+    static final class BiApplyTask<A, B, R> extends AwaitTask<R> {
+
+        private final ThrowingBiFunction<? super A, ? super B, ? extends R> function;
+        private final A first;
+        private final B second;
+
+        BiApplyTask(ThrowingBiFunction<? super A, ? super B, ? extends R> function, A first, B second) {
+            this.function = function;
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        @SuppressWarnings("java:S1181")
+        Throwable execute() {
+            try {
+                value = function.apply(first, second);
+                return null;
+            } catch (Throwable e) {
+                return Async.translateFailure(e, wrapping);
+            }
+        }
+    }
+
+    /**
+     * Task passing an argument to a {@link ThrowingConsumer}.
+     */
+    static final class AcceptTask<A> extends AwaitTask<Void> {
+
+        private final ThrowingConsumer<? super A> consumer;
+        private final A argument;
+
+        AcceptTask(ThrowingConsumer<? super A> consumer, A argument) {
+            this.consumer = consumer;
+            this.argument = argument;
+        }
+
+        @Override
+        @SuppressWarnings("java:S1181")
+        Throwable execute() {
+            try {
+                consumer.accept(argument);
+                return null;
+            } catch (Throwable e) {
+                return Async.translateFailure(e, wrapping);
+            }
+        }
+    }
+
+    /**
+     * Task getting a {@code int} value from a {@link ThrowingIntSupplier} without boxing.
+     */
+    static final class IntTask extends AwaitTask<Void> {
+
+        private final ThrowingIntSupplier block;
+        int result;
+
+        IntTask(ThrowingIntSupplier block) {
+            this.block = block;
+        }
+
+        @Override
+        @SuppressWarnings("java:S1181")
+        Throwable execute() {
+            try {
+                result = block.getAsInt();
+                return null;
+            } catch (Throwable e) {
+                return Async.translateFailure(e, wrapping);
+            }
+        }
+    }
+
+    /**
+     * Task getting a {@code long} value from a {@link ThrowingLongSupplier} without boxing.
+     */
+    static final class LongTask extends AwaitTask<Void> {
+
+        private final ThrowingLongSupplier block;
+        long result;
+
+        LongTask(ThrowingLongSupplier block) {
+            this.block = block;
+        }
+
+        @Override
+        @SuppressWarnings("java:S1181")
+        Throwable execute() {
+            try {
+                result = block.getAsLong();
+                return null;
+            } catch (Throwable e) {
+                return Async.translateFailure(e, wrapping);
+            }
+        }
+    }
+
+    /**
+     * Task getting a {@code double} value from a {@link ThrowingDoubleSupplier} without boxing.
+     */
+    static final class DoubleTask extends AwaitTask<Void> {
+
+        private final ThrowingDoubleSupplier block;
+        double result;
+
+        DoubleTask(ThrowingDoubleSupplier block) {
+            this.block = block;
+        }
+
+        @Override
+        @SuppressWarnings("java:S1181")
+        Throwable execute() {
+            try {
+                result = block.getAsDouble();
+                return null;
+            } catch (Throwable e) {
+                return Async.translateFailure(e, wrapping);
+            }
+        }
+    }
+
+    /**
+     * Task getting the result of a {@link Future}, optionally with a timeout.
+     * A negative {@code millis} means no timeout.
+     */
+    static final class GetTask<T> extends AwaitTask<T> {
+
+        private final Future<T> future;
+        private final long millis;
+
+        GetTask(Future<T> future, long millis) {
+            this.future = future;
+            this.millis = millis;
+        }
+
+        @Override
+        @SuppressWarnings("java:S1181")
+        Throwable execute() {
+            try {
+                value = millis < 0 ? future.get() : future.get(millis, TimeUnit.MILLISECONDS);
+                return null;
+            } catch (Throwable e) {
+                return Async.translateFailure(e, wrapping);
+            }
+        }
+    }
+}
@@ -0,0 +1,1762 @@
+package me.kpavlov.await4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Configurable counterpart of {@link Async}: executes blocks of code on threads
+ * provided by a {@link Thread.Builder}, a {@link ThreadFactory} or an {@link ExecutorService}
+ * and waits for their completion.
+ * <p>
+ * Static methods of {@link Async} delegate to a default instance, which starts a virtual thread
+ * named {@code async-virtual-N} for each block. Create dedicated instances with {@link #builder()}
+ * to run latency-critical paths on dedicated executors:
+ * </p>
+ * <pre>{@code
+ * final var awaiter = Awaiter.builder()
+ *     .name("db-")
+ *     .executor(dbExecutor)
+ *     .build();
+ * final var user = awaiter.await(() -> loadUser(id));
+ * }</pre>
+ * <p>
+ * Instances are thread-safe. An {@code Awaiter} does not own the configured executor,
+ * so the caller is responsible for shutting it down.
+ * </p>
+ */
+public final class Awaiter {
+
+    private final Executor launcher;
+    private final boolean callerRuns;
+    private final boolean interruptOnTimeout;
+    private final ExceptionWrapping exceptionWrapping;
+    private final LaunchErrorHandler launchErrorHandler;
+    private final LongAdder abandonedTasks = new LongAdder();
+    private final LongAdder cancelledTasks = new LongAdder();
+    private final AtomicLong inFlightTasks = new AtomicLong();
+    private final LongAdder failedTasks = new LongAdder();
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final Condition drained = drainLock.newCondition();
+
+    private Awaiter(Builder builder) {
+        this.launcher = builder.launcher();
+        this.callerRuns = builder.callerRuns;
+        this.interruptOnTimeout = builder.interruptOnTimeout;
+        this.exceptionWrapping = builder.exceptionWrapping;
+        this.launchErrorHandler = builder.launchErrorHandler;
+    }
+
+    /**
+     * Creates a new builder with default settings: virtual threads named {@code async-virtual-N},
+     * inheriting inheritable thread locals. Defaults for caller-runs mode, interrupting on timeout
+     * and exception wrapping are taken from system properties {@value Async#CALLER_RUNS_PROPERTY},
+     * {@value Async#INTERRUPT_ON_TIMEOUT_PROPERTY} and {@value Async#EXCEPTION_WRAPPING_PROPERTY}.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Executes a block of code asynchronously and waits for its completion.
+     *
+     * @param block  The code to be executed asynchronously
+     * @param millis The maximum time to wait for the block to complete, in milliseconds
+     * @throws CompletionException   if the thread is interrupted, throws Exception or does not complete in time
+     * @throws Error                 if the block throws an Error
+     * @throws IllegalStateException if an unexpected Throwable is encountered
+     * @see Async#await(ThrowingRunnable, long)
+     */
+    public void await(ThrowingRunnable block, long millis) {
+        Objects.requireNonNull(block, "Block should not be null");
+        final Throwable failure;
+        if (runsOnCaller(millis)) {
+            failure = Async.runWithErrorHandling(block, exceptionWrapping);
+        } else {
+            final var task = new AwaitTask.RunTask(block);
+            join(task, millis);
+            failure = task.failure;
+        }
+        if (failure != null) {
+            throw Async.rethrow(failure);
+        }
+    }
+
+    /**
+     * Executes a block of code asynchronously and waits indefinitely for its completion.
+     *
+     * @param block The code to be executed asynchronously
+     * @throws CompletionException   if the thread is interrupted
+     * @throws RuntimeException      if the block throws an exception
+     * @throws Error                 if the block throws an Error
+     * @throws IllegalStateException if an unexpected Throwable is encountered
+     * @see Async#await(ThrowingRunnable)
+     */
+    public void await(ThrowingRunnable block) {
+        await(block, 0);
+    }
+
+    /**
+     * Executes a callable block asynchronously and returns its result.
+     *
+     * @param <T>    The type of the result
+     * @param block  The callable block to be executed asynchronously
+     * @param millis The maximum time to wait for the callable block to complete, in milliseconds
+     * @return The result of the callable block
+     * @throws CompletionException   if the thread is interrupted, if the block throws an exception
+     *                               or does not complete in time
+     * @throws Error                 if the block throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     * @see Async#await(Callable, long)
+     */
+    @SuppressWarnings("java:S1181")
+    public <T> T await(Callable<T> block, long millis) {
+        Objects.requireNonNull(block, "Callable should not be null");
+        if (runsOnCaller(millis)) {
+            try {
+                return block.call();
+            } catch (Throwable e) {
+                throw Async.rethrow(Async.translateFailure(e, exceptionWrapping));
+            }
+        }
+        final var task = new AwaitTask.CallTask<>(block);
+        join(task, millis);
+        return task.getOrThrow();
+    }
+
+    /**
+     * Executes a callable block asynchronously and returns its result.
+     *
+     * @param <T>   The type of the result
+     * @param block The callable block to be executed asynchronously
+     * @return The result of the callable block
+     * @throws RuntimeException      if the thread is interrupted or if the block throws an exception
+     * @throws Error                 if the block throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     * @see Async#await(Callable)
+     */
+    public <T> T await(Callable<T> block) {
+        return await(block, 0);
+    }
+
+    /**
+     * Executes a callable block asynchronously, retrying it according to the policy, and returns its result.
+     * <p>
+     * All attempts and backoff sleeps run on the same thread started for the block, so no platform thread
+     * is blocked while backing off. If the policy has a time budget, the attempt running when it is spent
+     * is abandoned the same way as on timeout.
+     * </p>
+     *
+     * @param <T>    The type of the result
+     * @param block  The callable block to be executed asynchronously
+     * @param policy The retry policy
+     * @return The result of the first successful attempt
+     * @throws CompletionException   if the thread is interrupted, if the last attempt throws an exception
+     *                               or the budget of the policy is spent
+     * @throws Error                 if the last attempt throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     * @see Async#await(Callable, RetryPolicy)
+     */
+    public <T> T await(Callable<T> block, RetryPolicy policy) {
+        Objects.requireNonNull(block, "Callable should not be null");
+        Objects.requireNonNull(policy, "Policy should not be null");
+        return await(() -> policy.call(block), policy.budgetMillis());
+    }
+
+    /**
+     * Executes a callable block asynchronously once the bulkhead permits it, and returns its result.
+     * <p>
+     * The permit is acquired on the calling thread before a thread is started for the block,
+     * so rejected calls do not start a thread at all. It is released when the block completes,
+     * even if the caller has stopped waiting for it, or when the block is cancelled before it has started.
+     * </p>
+     *
+     * @param <T>      The type of the result
+     * @param block    The callable block to be executed asynchronously
+     * @param bulkhead The bulkhead of the dependency called by the block
+     * @return The result of the callable block
+     * @throws RejectedExecutionException if the queue of the bulkhead is full or the permit wait time elapses
+     * @throws CompletionException        if the thread is interrupted, if the {@linkplain Deadline deadline}
+     *                                    of the current scope passes or if the block throws an exception
+     * @throws Error                      if the block throws an Error
+     * @throws IllegalStateException      if an unexpected throwable is encountered in the call result
+     * @see Async#await(Callable, Bulkhead)
+     */
+    public <T> T await(Callable<T> block, Bulkhead bulkhead) {
+        Objects.requireNonNull(block, "Callable should not be null");
+        Objects.requireNonNull(bulkhead, "Bulkhead should not be null");
+        try {
+            bulkhead.acquire();
+        } catch (InterruptedException e) {
+            throw Async.rethrow(Async.translateFailure(e, exceptionWrapping));
+        }
+        final AwaitTask<T> task = bulkhead.newTask(block);
+        task.wrapping = exceptionWrapping;
+        if (runsOnCaller(0)) {
+            task.failure = task.execute(); // releases the permit
+            return task.getOrThrow();
+        }
+        try {
+            join(task, 0);
+        } finally {
+            // releases the permit if the task has not been launched, e.g. because the deadline has passed
+            task.cancel(false);
+        }
+        return task.getOrThrow();
+    }
+
+    /**
+     * Executes a callable block asynchronously once the rate limiter issues a permit, and returns its result.
+     * The permit is waited for on the thread started for the block, which is virtual by default.
+     *
+     * @param <T>         The type of the result
+     * @param block       The callable block to be executed asynchronously
+     * @param rateLimiter The rate limiter of the dependency called by the block
+     * @return The result of the callable block
+     * @throws CompletionException   if the thread is interrupted, if the permit would be available only after
+     *                               the {@linkplain Deadline deadline} of the current scope
+     *                               or if the block throws an exception
+     * @throws Error                 if the block throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     * @see Async#await(Callable, RateLimiter)
+     */
+    public <T> T await(Callable<T> block, RateLimiter rateLimiter) {
+        Objects.requireNonNull(rateLimiter, "Rate limiter should not be null");
+        return await(rateLimiter.decorate(block));
+    }
+
+    /**
+     * Executes a callable block asynchronously, guarded by the circuit breaker, and returns its result.
+     * While the breaker is open, the call is rejected right away without starting a thread.
+     *
+     * @param <T>     The type of the result
+     * @param block   The callable block to be executed asynchronously
+     * @param breaker The circuit breaker of the dependency called by the block
+     * @return The result of the callable block
+     * @throws RejectedExecutionException if the breaker is open
+     * @throws CompletionException        if the thread is interrupted or if the block throws an exception
+     * @throws Error                      if the block throws an Error
+     * @throws IllegalStateException      if an unexpected throwable is encountered in the call result
+     * @see #awaitResult(Callable, CircuitBreaker)
+     * @see Async#await(Callable, CircuitBreaker)
+     */
+    public <T> T await(Callable<T> block, CircuitBreaker breaker) {
+        final Result<T> result = awaitResult(block, breaker);
+        if (result instanceof Result.Failure<T>(var failure)) {
+            throw Async.rethrow(failure);
+        }
+        return result.getOrNull();
+    }
+
+    /**
+     * Waits for the completion of a Future and returns its result.
+     *
+     * @param <T>    The type of the result
+     * @param future The Future to await
+     * @return The result of the Future
+     * @throws RuntimeException if the Future completes exceptionally
+     * @see Async#await(Future)
+     */
+    public <T> T await(Future<T> future) {
+        if (future instanceof CompletableFuture<T> completableFuture) return await(completableFuture);
+        if (future instanceof Deferred<T> deferred) return await(deferred.start());
+        if (Async.shortCircuitDoneFuture(future, exceptionWrapping)) return future.resultNow();
+        return joinForResult(new AwaitTask.GetTask<>(future, -1));
+    }
+
+    /**
+     * Waits for the completion of a Future and returns its result.
+     *
+     * @param <T>    The type of the result
+     * @param future The Future to await
+     * @param millis The maximum time to wait for the future to complete, in milliseconds
+     * @return The result of the Future
+     * @throws RuntimeException if the Future completes exceptionally
+     * @see Async#await(Future, long)
+     */
+    public <T> T await(Future<T> future, long millis) {
+        if (future instanceof Deferred<T> deferred) return await(deferred.start(), millis);
+        if (Async.shortCircuitDoneFuture(future, exceptionWrapping)) return future.resultNow();
+        return joinForResult(new AwaitTask.GetTask<>(future, millis));
+    }
+
+    /**
+     * Waits for the completion of a CompletableFuture and returns its result.
+     * No thread is started: the calling thread parks until the future completes.
+     *
+     * @param <T>               The type of the result
+     * @param completableFuture The CompletableFuture to await
+     * @return The result of the CompletableFuture
+     * @throws RuntimeException if the CompletableFuture completes exceptionally
+     * @see Async#await(CompletableFuture)
+     */
+    public <T> T await(CompletableFuture<T> completableFuture) {
+        return await(completableFuture, 0);
+    }
+
+    /**
+     * Waits for the completion of a CompletableFuture and returns its result.
+     * No thread is started: the calling thread parks until the future completes or the timeout elapses.
+     * The future itself is not cancelled on timeout.
+     *
+     * @param <T>               The type of the result
+     * @param completableFuture The CompletableFuture to await
+     * @param millis            The maximum time to wait for the future to complete, in milliseconds
+     * @return The result of the CompletableFuture
+     * @throws CompletionException if the future does not complete in time or the waiting thread is interrupted
+     * @throws RuntimeException    if the CompletableFuture completes exceptionally
+     * @see Async#await(CompletableFuture, long)
+     */
+    public <T> T await(CompletableFuture<T> completableFuture, long millis) {
+        if (Async.shortCircuitDoneFuture(completableFuture, exceptionWrapping)) return completableFuture.resultNow();
+        final long timeout = scopedTimeout(millis);
+        final var task = new AwaitCell.WhenCompleteCell<T>();
+        task.wrapping = exceptionWrapping;
+        completableFuture.whenComplete(task);
+        final boolean done;
+        try {
+            done = task.join(timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException("Interrupted while waiting for future", e);
+        }
+        if (!done && task.cancel(false)) {
+            throw Async.timeoutException(timeout);
+        }
+        return task.getOrThrow();
+    }
+
+    /**
+     * Starts a callable block on its own thread and returns immediately.
+     * <p>
+     * The returned future is completed with the outcome of the block and can be passed back to
+     * {@link #await(CompletableFuture)} later, which lets independent blocks overlap in straight-line code.
+     * Cancelling the future with {@code mayInterruptIfRunning} interrupts the thread running the block.
+     * </p>
+     *
+     * @param <T>   The type of the result
+     * @param block The callable block to be started
+     * @return The future completed by the block
+     * @see Async#async(Callable)
+     */
+    public <T> CompletableFuture<T> async(Callable<? extends T> block) {
+        Objects.requireNonNull(block, "Callable should not be null");
+        final var future = new AsyncFuture<T>(block);
+        launcher.execute(future.task());
+        return future;
+    }
+
+    /**
+     * Creates a lazy handle of a callable block, which starts its thread only when it is first awaited
+     * or {@linkplain Deferred#start() started}. All awaiters share the single execution of the block.
+     *
+     * @param <T>   The type of the result
+     * @param block The callable block to be executed on demand
+     * @return The lazy handle of the block
+     * @see Async#defer(Callable)
+     */
+    public <T> Deferred<T> defer(Callable<? extends T> block) {
+        Objects.requireNonNull(block, "Callable should not be null");
+        return new Deferred<>(block, launcher);
+    }
+
+    /**
+     * Executes a callable block asynchronously and returns its outcome as {@link Result} without throwing.
+     * <p>
+     * Failures of the block, timeouts and interrupts of the waiting thread are returned as
+     * {@linkplain Result#isFailure() failed} results, holding the same exceptions that
+     * {@link #await(Callable, long)} would throw.
+     * </p>
+     *
+     * @param <T>    The type of the result
+     * @param block  The callable block to be executed asynchronously
+     * @param millis The maximum time to wait for the callable block to complete, in milliseconds
+     * @return The successful or failed result of the block
+     * @see Async#awaitResult(Callable, long)
+     */
+    public <T> Result<T> awaitResult(Callable<T> block, long millis) {
+        Objects.requireNonNull(block, "Callable should not be null");
+        if (runsOnCaller(millis)) {
+            return Async.callWithErrorHandling(block, exceptionWrapping);
+        }
+        final var task = new AwaitTask.CallTask<>(block);
+        final Throwable failure = tryJoin(task, millis);
+        return failure == null ? task.toResult() : Result.failure(failure);
+    }
+
+    /**
+     * Executes a callable block asynchronously and returns its outcome as {@link Result} without throwing.
+     *
+     * @param <T>   The type of the result
+     * @param block The callable block to be executed asynchronously
+     * @return The successful or failed result of the block
+     * @see Async#awaitResult(Callable)
+     */
+    public <T> Result<T> awaitResult(Callable<T> block) {
+        return awaitResult(block, 0);
+    }
+
+    /**
+     * Executes a callable block asynchronously, guarded by the circuit breaker, and returns its outcome
+     * as {@link Result} without throwing.
+     * <p>
+     * While the breaker is open, a failed result with {@link RejectedExecutionException} is returned right away,
+     * without starting a thread. Otherwise, the outcome and the duration of the block are recorded by the breaker.
+     * </p>
+     *
+     * @param <T>     The type of the result
+     * @param block   The callable block to be executed asynchronously
+     * @param breaker The circuit breaker of the dependency called by the block
+     * @return The successful or failed result of the callable block
+     * @see Async#awaitResult(Callable, CircuitBreaker)
+     */
+    public <T> Result<T> awaitResult(Callable<T> block, CircuitBreaker breaker) {
+        Objects.requireNonNull(block, "Callable should not be null");
+        Objects.requireNonNull(breaker, "Circuit breaker should not be null");
+        final CircuitBreaker.Phase permitted = breaker.acquirePermission();
+        if (permitted == null) {
+            return Result.failure(breaker.openException());
+        }
+        final long start = System.nanoTime();
+        final Result<T> result;
+        try {
+            result = awaitResult(block);
+        } catch (RuntimeException | Error e) {
+            breaker.onComplete(permitted, e, System.nanoTime() - start); // returns a half-open trial permit
+            throw e;
+        }
+        breaker.onComplete(permitted, result.failure(), System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Waits for the completion of a Future and returns its outcome as {@link Result} without throwing.
+     *
+     * @param <T>    The type of the result
+     * @param future The Future to await
+     * @return The successful or failed result of the Future
+     * @see Async#awaitResult(Future)
+     */
+    public <T> Result<T> awaitResult(Future<T> future) {
+        if (future instanceof CompletableFuture<T> completableFuture) return awaitResult(completableFuture);
+        if (future instanceof Deferred<T> deferred) return awaitResult(deferred.start());
+        return awaitFutureResult(future, -1);
+    }
+
+    /**
+     * Waits for the completion of a Future and returns its outcome as {@link Result} without throwing.
+     *
+     * @param <T>    The type of the result
+     * @param future The Future to await
+     * @param millis The maximum time to wait for the future to complete, in milliseconds
+     * @return The successful or failed result of the Future
+     * @see Async#awaitResult(Future, long)
+     */
+    public <T> Result<T> awaitResult(Future<T> future, long millis) {
+        if (future instanceof Deferred<T> deferred) return awaitResult(deferred.start(), millis);
+        return awaitFutureResult(future, millis);
+    }
+
+    /**
+     * Waits for the completion of a CompletableFuture and returns its outcome as {@link Result} without throwing.
+     * No thread is started: the calling thread parks until the future completes.
+     *
+     * @param <T>               The type of the result
+     * @param completableFuture The CompletableFuture to await
+     * @return The successful or failed result of the CompletableFuture
+     * @see Async#awaitResult(CompletableFuture)
+     */
+    public <T> Result<T> awaitResult(CompletableFuture<T> completableFuture) {
+        return awaitResult(completableFuture, 0);
+    }
+
+    /**
+     * Waits for the completion of a CompletableFuture and returns its outcome as {@link Result} without throwing.
+     * No thread is started: the calling thread parks until the future completes or the timeout elapses.
+     * The future itself is not cancelled on timeout.
+     *
+     * @param <T>               The type of the result
+     * @param completableFuture The CompletableFuture to await
+     * @param millis            The maximum time to wait for the future to complete, in milliseconds
+     * @return The successful or failed result of the CompletableFuture
+     * @see Async#awaitResult(CompletableFuture, long)
+     */
+    public <T> Result<T> awaitResult(CompletableFuture<T> completableFuture, long millis) {
+        Objects.requireNonNull(completableFuture, "Future should not be null");
+        final Result<T> doneResult = Async.doneFutureResult(completableFuture, exceptionWrapping);
+        if (doneResult != null) {
+            return doneResult;
+        }
+        final long timeout = Deadline.timeoutMillis(millis);
+        if (timeout < 0) {
+            return Result.failure(Async.deadlineExceededException());
+        }
+        final var task = new AwaitCell.WhenCompleteCell<T>();
+        task.wrapping = exceptionWrapping;
+        completableFuture.whenComplete(task);
+        final boolean done;
+        try {
+            done = task.join(timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.failure(new CompletionException("Interrupted while waiting for future", e));
+        }
+        if (!done && task.cancel(false)) {
+            return Result.failure(Async.timeoutException(timeout));
+        }
+        return task.toResult();
+    }
+
+    /**
+     * Applies the function to the argument asynchronously and returns its result.
+     * <p>
+     * The argument is passed along with the function, so call sites do not need to allocate
+     * a lambda capturing it. Failures are translated the same way as by {@link #await(Callable)}.
+     * </p>
+     *
+     * @param <A>      The type of the argument
+     * @param <R>      The type of the result
+     * @param function The function to be applied asynchronously
+     * @param argument The argument of the function
+     * @param millis   The maximum time to wait for the function to complete, in milliseconds
+     * @return The result of the function
+     * @throws CompletionException   if the thread is interrupted, if the function throws an exception
+     *                               or does not complete in time
+     * @throws Error                 if the function throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     * @see Async#awaitApply(ThrowingFunction, Object, long)
+     */
+    public <A, R> R awaitApply(ThrowingFunction<? super A, ? extends R> function, A argument, long millis) {
+        Objects.requireNonNull(function, "Function should not be null");
+        return runTask(new AwaitTask.ApplyTask<>(function, argument), millis);
+    }
+
+    /**
+     * Applies the function to the argument asynchronously and returns its result.
+     *
+     * @param <A>      The type of the argument
+     * @param <R>      The type of the result
+     * @param function The function to be applied asynchronously
+     * @param argument The argument of the function
+     * @return The result of the function
+     * @throws CompletionException   if the thread is interrupted or if the function throws an exception
+     * @throws Error                 if the function throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     * @see Async#awaitApply(ThrowingFunction, Object)
+     */
+    public <A, R> R awaitApply(ThrowingFunction<? super A, ? extends R> function, A argument) {
+        return awaitApply(function, argument, 0);
+    }
+
+    /**
+     * Applies the function to the arguments asynchronously and returns its result.
+     *
+     * @param <A>      The type of the first argument
+     * @param <B>      The type of the second argument
+     * @param <R>      The type of the result
+     * @param function The function to be applied asynchronously
+     * @param first    The first argument of the function
+     * @param second   The second argument of the function
+     * @param millis   The maximum time to wait for the function to complete, in milliseconds
+     * @return The result of the function
+     * @throws CompletionException   if the thread is interrupted, if the function throws an exception
+     *                               or does not complete in time
+     * @throws Error                 if the function throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     * @see Async#awaitApply(ThrowingBiFunction, Object, Object, long)
+     */
+    public <A, B, R> R awaitApply(ThrowingBiFunction<? super A, ? super B, ? extends R> function,
+                                  A first, B second, long millis) {
+        Objects.requireNonNull(function, "Function should not be null");
+        return runTask(new AwaitTask.BiApplyTask<>(function, first, second), millis);
+    }
+
+    /**
+     * Applies the function to the arguments asynchronously and returns its result.
+     *
+     * @param <A>      The type of the first argument
+     * @param <B>      The type of the second argument
+     * @param <R>      The type of the result
+     * @param function The function to be applied asynchronously
+     * @param first    The first argument of the function
+     * @param second   The second argument of the function
+     * @return The result of the function
+     * @throws CompletionException   if the thread is interrupted or if the function throws an exception
+     * @throws Error                 if the function throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     * @see Async#awaitApply(ThrowingBiFunction, Object, Object)
+     */
+    public <A, B, R> R awaitApply(ThrowingBiFunction<? super A, ? super B, ? extends R> function, A first, B second) {
+        return awaitApply(function, first, second, 0);
+    }
+
+    /**
+     * Passes the argument to the consumer asynchronously and waits for its completion.
+     * Failures are translated the same way as by {@link #await(Callable)}.
+     *
+     * @param <A>      The type of the argument
+     * @param consumer The consumer to be called asynchronously
+     * @param argument The argument of the consumer
+     * @param millis   The maximum time to wait for the consumer to complete, in milliseconds
+     * @throws CompletionException   if the thread is interrupted, if the consumer throws an exception
+     *                               or does not complete in time
+     * @throws Error                 if the consumer throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     * @see Async#awaitAccept(ThrowingConsumer, Object, long)
+     */
+    public <A> void awaitAccept(ThrowingConsumer<? super A> consumer, A argument, long millis) {
+        Objects.requireNonNull(consumer, "Consumer should not be null");
+        runTask(new AwaitTask.AcceptTask<>(consumer, argument), millis);
+    }
+
+    /**
+     * Passes the argument to the consumer asynchronously and waits for its completion.
+     *
+     * @param <A>      The type of the argument
+     * @param consumer The consumer to be called asynchronously
+     * @param argument The argument of the consumer
+     * @throws CompletionException   if the thread is interrupted or if the consumer throws an exception
+     * @throws Error                 if the consumer throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     * @see Async#awaitAccept(ThrowingConsumer, Object)
+     */
+    public <A> void awaitAccept(ThrowingConsumer<? super A> consumer, A argument) {
+        awaitAccept(consumer, argument, 0);
+    }
+
+    /**
+     * Executes a block returning {@code int} asynchronously and returns its result without boxing.
+     *
+     * @param block  The block to be executed asynchronously
+     * @param millis The maximum time to wait for the block to complete, in milliseconds
+     * @return The result of the block
+     * @throws CompletionException   if the thread is interrupted, if the block throws an exception
+     *                               or does not complete in time
+     * @throws Error                 if the block throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     * @see Async#awaitInt(ThrowingIntSupplier, long)
+     */
+    @SuppressWarnings("java:S1181")
+    public int awaitInt(ThrowingIntSupplier block, long millis) {
+        Objects.requireNonNull(block, "Supplier should not be null");
+        if (runsOnCaller(millis)) {
+            try {
+                return block.getAsInt();
+            } catch (Throwable e) {
+                throw Async.rethrow(Async.translateFailure(e, exceptionWrapping));
+            }
+        }
+        final var task = new AwaitTask.IntTask(block);
+        join(task, millis);
+        if (task.failure != null) {
+            throw Async.rethrow(task.failure);
+        }
+        return task.result;
+    }
+
+    /**
+     * Executes a block returning {@code int} asynchronously and returns its result without boxing.
+     *
+     * @param block The block to be executed asynchronously
+     * @return The result of the block
+     * @throws CompletionException   if the thread is interrupted or if the block throws an exception
+     * @throws Error                 if the block throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     * @see Async#awaitInt(ThrowingIntSupplier)
+     */
+    public int awaitInt(ThrowingIntSupplier block) {
+        return awaitInt(block, 0);
+    }
+
+    /**
+     * Executes a block returning {@code int} asynchronously and returns its outcome as {@link IntResult}
+     * without boxing and without throwing.
+     *
+     * @param block  The block to be executed asynchronously
+     * @param millis The maximum time to wait for the block to complete, in milliseconds
+     * @return The successful or failed result of the block
+     * @see Async#awaitIntResult(ThrowingIntSupplier, long)
+     */
+    @SuppressWarnings("java:S1181")
+    public IntResult awaitIntResult(ThrowingIntSupplier block, long millis) {
+        Objects.requireNonNull(block, "Supplier should not be null");
+        if (runsOnCaller(millis)) {
+            try {
+                return IntResult.success(block.getAsInt());
+            } catch (Throwable e) {
+                return IntResult.failure(Async.translateFailure(e, exceptionWrapping));
+            }
+        }
+        final var task = new AwaitTask.IntTask(block);
+        final Throwable failure = tryJoin(task, millis);
+        if (failure != null) {
+            return IntResult.failure(failure);
+        }
+        return task.failure == null ? IntResult.success(task.result) : IntResult.failure(task.failure);
+    }
+
+    /**
+     * Executes a block returning {@code int} asynchronously and returns its outcome as {@link IntResult}
+     * without boxing and without throwing.
+     *
+     * @param block The block to be executed asynchronously
+     * @return The successful or failed result of the block
+     * @see Async#awaitIntResult(ThrowingIntSupplier)
+     */
+    public IntResult awaitIntResult(ThrowingIntSupplier block) {
+        return awaitIntResult(block, 0);
+    }
+
+    /**
+     * Executes a block returning {@code long} asynchronously and returns its result without boxing.
+     *
+     * @param block  The block to be executed asynchronously
+     * @param millis The maximum time to wait for the block to complete, in milliseconds
+     * @return The result of the block
+     * @throws CompletionException   if the thread is interrupted, if the block throws an exception
+     *                               or does not complete in time
+     * @throws Error                 if the block throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     * @see Async#awaitLong(ThrowingLongSupplier, long)
+     */
+    @SuppressWarnings("java:S1181")
+    public long awaitLong(ThrowingLongSupplier block, long millis) {
+        Objects.requireNonNull(block, "Supplier should not be null");
+        if (runsOnCaller(millis)) {
+            try {
+                return block.getAsLong();
+            } catch (Throwable e) {
+                throw Async.rethrow(Async.translateFailure(e, exceptionWrapping));
+            }
+        }
+        final var task = new AwaitTask.LongTask(block);
+        join(task, millis);
+        if (task.failure != null) {
+            throw Async.rethrow(task.failure);
+        }
+        return task.result;
+    }
+
+    /**
+     * Executes a block returning {@code long} asynchronously and returns its result without boxing.
+     *
+     * @param block The block to be executed asynchronously
+     * @return The result of the block
+     * @throws CompletionException   if the thread is interrupted or if the block throws an exception
+     * @throws Error                 if the block throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     * @see Async#awaitLong(ThrowingLongSupplier)
+     */
+    public long awaitLong(ThrowingLongSupplier block) {
+        return awaitLong(block, 0);
+    }
+
+    /**
+     * Executes a block returning {@code long} asynchronously and returns its outcome as {@link LongResult}
+     * without boxing and without throwing.
+     *
+     * @param block  The block to be executed asynchronously
+     * @param millis The maximum time to wait for the block to complete, in milliseconds
+     * @return The successful or failed result of the block
+     * @see Async#awaitLongResult(ThrowingLongSupplier, long)
+     */
+    @SuppressWarnings("java:S1181")
+    public LongResult awaitLongResult(ThrowingLongSupplier block, long millis) {
+        Objects.requireNonNull(block, "Supplier should not be null");
+        if (runsOnCaller(millis)) {
+            try {
+                return LongResult.success(block.getAsLong());
+            } catch (Throwable e) {
+                return LongResult.failure(Async.translateFailure(e, exceptionWrapping));
+            }
+        }
+        final var task = new AwaitTask.LongTask(block);
+        final Throwable failure = tryJoin(task, millis);
+        if (failure != null) {
+            return LongResult.failure(failure);
+        }
+        return task.failure == null ? LongResult.success(task.result) : LongResult.failure(task.failure);
+    }
+
+    /**
+     * Executes a block returning {@code long} asynchronously and returns its outcome as {@link LongResult}
+     * without boxing and without throwing.
+     *
+     * @param block The block to be executed asynchronously
+     * @return The successful or failed result of the block
+     * @see Async#awaitLongResult(ThrowingLongSupplier)
+     */
+    public LongResult awaitLongResult(ThrowingLongSupplier block) {
+        return awaitLongResult(block, 0);
+    }
+
+    /**
+     * Executes a block returning {@code double} asynchronously and returns its result without boxing.
+     *
+     * @param block  The block to be executed asynchronously
+     * @param millis The maximum time to wait for the block to complete, in milliseconds
+     * @return The result of the block
+     * @throws CompletionException   if the thread is interrupted, if the block throws an exception
+     *                               or does not complete in time
+     * @throws Error                 if the block throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     * @see Async#awaitDouble(ThrowingDoubleSupplier, long)
+     */
+    @SuppressWarnings("java:S1181")
+    public double awaitDouble(ThrowingDoubleSupplier block, long millis) {
+        Objects.requireNonNull(block, "Supplier should not be null");
+        if (runsOnCaller(millis)) {
+            try {
+                return block.getAsDouble();
+            } catch (Throwable e) {
+                throw Async.rethrow(Async.translateFailure(e, exceptionWrapping));
+            }
+        }
+        final var task = new AwaitTask.DoubleTask(block);
+        join(task, millis);
+        if (task.failure != null) {
+            throw Async.rethrow(task.failure);
+        }
+        return task.result;
+    }
+
+    /**
+     * Executes a block returning {@code double} asynchronously and returns its result without boxing.
+     *
+     * @param block The block to be executed asynchronously
+     * @return The result of the block
+     * @throws CompletionException   if the thread is interrupted or if the block throws an exception
+     * @throws Error                 if the block throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     * @see Async#awaitDouble(ThrowingDoubleSupplier)
+     */
+    public double awaitDouble(ThrowingDoubleSupplier block) {
+        return awaitDouble(block, 0);
+    }
+
+    /**
+     * Executes a block returning {@code double} asynchronously and returns its outcome as {@link DoubleResult}
+     * without boxing and without throwing.
+     *
+     * @param block  The block to be executed asynchronously
+     * @param millis The maximum time to wait for the block to complete, in milliseconds
+     * @return The successful or failed result of the block
+     * @see Async#awaitDoubleResult(ThrowingDoubleSupplier, long)
+     */
+    @SuppressWarnings("java:S1181")
+    public DoubleResult awaitDoubleResult(ThrowingDoubleSupplier block, long millis) {
+        Objects.requireNonNull(block, "Supplier should not be null");
+        if (runsOnCaller(millis)) {
+            try {
+                return DoubleResult.success(block.getAsDouble());
+            } catch (Throwable e) {
+                return DoubleResult.failure(Async.translateFailure(e, exceptionWrapping));
+            }
+        }
+        final var task = new AwaitTask.DoubleTask(block);
+        final Throwable failure = tryJoin(task, millis);
+        if (failure != null) {
+            return DoubleResult.failure(failure);
+        }
+        return task.failure == null ? DoubleResult.success(task.result) : DoubleResult.failure(task.failure);
+    }
+
+    /**
+     * Executes a block returning {@code double} asynchronously and returns its outcome as {@link DoubleResult}
+     * without boxing and without throwing.
+     *
+     * @param block The block to be executed asynchronously
+     * @return The successful or failed result of the block
+     * @see Async#awaitDoubleResult(ThrowingDoubleSupplier)
+     */
+    public DoubleResult awaitDoubleResult(ThrowingDoubleSupplier block) {
+        return awaitDoubleResult(block, 0);
+    }
+
+    /**
+     * Executes callable blocks in parallel, each on its own thread, and returns their results.
+     * <p>
+     * On the first failure, the remaining blocks are cancelled and their threads are interrupted.
+     * </p>
+     *
+     * @param <T>    The type of the results
+     * @param blocks The callable blocks to be executed asynchronously
+     * @return The results of the blocks, in the order of the input collection
+     * @throws CompletionException   if the waiting thread is interrupted or if a block throws an exception
+     * @throws Error                 if a block throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     * @see Async#awaitAll(Collection)
+     */
+    public <T> List<T> awaitAll(Collection<? extends Callable<? extends T>> blocks) {
+        return awaitAll(blocks, 0);
+    }
+
+    /**
+     * Executes callable blocks in parallel, each on its own thread, and returns their results.
+     * <p>
+     * On the first failure or when the timeout elapses, the remaining blocks are cancelled
+     * and their threads are interrupted.
+     * </p>
+     *
+     * @param <T>    The type of the results
+     * @param blocks The callable blocks to be executed asynchronously
+     * @param millis The maximum time to wait for all blocks to complete, in milliseconds
+     * @return The results of the blocks, in the order of the input collection
+     * @throws CompletionException   if the waiting thread is interrupted, if a block throws an exception
+     *                               or if blocks do not complete in time
+     * @throws Error                 if a block throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     * @see Async#awaitAll(Collection, long)
+     */
+    public <T> List<T> awaitAll(Collection<? extends Callable<? extends T>> blocks, long millis) {
+        Objects.requireNonNull(blocks, "Blocks should not be null");
+        final long timeout = scopedTimeout(millis);
+        final long deadline = deadlineNanos(timeout);
+        @SuppressWarnings("unchecked") final T[] results = (T[]) new Object[blocks.size()];
+        final var group = new TaskGroup<T>(launcher, exceptionWrapping);
+        startAll(group, blocks);
+        while (group.pending() > 0) {
+            final TaskGroup<T>.Member member = pollGroup(group, deadline, timeout);
+            if (member.failure != null) {
+                group.cancelAll(true);
+                throw Async.rethrow(member.failure);
+            }
+            results[member.index] = member.value;
+        }
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    /**
+     * Executes callable blocks in parallel and returns the result of the first block completing successfully.
+     *
+     * @param <T>    The type of the results
+     * @param blocks The callable blocks to be executed asynchronously
+     * @return The result of the first successful block
+     * @throws CompletionException      if the waiting thread is interrupted or if all blocks throw exceptions
+     * @throws Error                    if all blocks fail and the first failure is an Error
+     * @throws IllegalArgumentException if there are no blocks
+     * @see Async#awaitAny(Callable[])
+     */
+    @SafeVarargs
+    public final <T> T awaitAny(Callable<? extends T>... blocks) {
+        final var list = new ArrayList<Callable<? extends T>>(blocks.length);
+        for (final Callable<? extends T> block : blocks) {
+            list.add(block); // copied, so the generic varargs array is not passed on
+        }
+        return awaitAny(list, 0);
+    }
+
+    /**
+     * Executes callable blocks in parallel and returns the result of the first block completing successfully.
+     * <p>
+     * As soon as a block succeeds, the remaining blocks are cancelled and their threads are interrupted.
+     * The call fails only if every block fails: the first failure is thrown with the other failures
+     * attached as {@linkplain Throwable#getSuppressed() suppressed}. Failures are translated
+     * the same way as by {@link #await(Callable)}.
+     * </p>
+     *
+     * @param <T>    The type of the results
+     * @param blocks The callable blocks to be executed asynchronously
+     * @param millis The maximum time to wait for a successful block, in milliseconds
+     * @return The result of the first successful block
+     * @throws CompletionException      if the waiting thread is interrupted, if all blocks throw exceptions
+     *                                  or if no block succeeds in time
+     * @throws Error                    if all blocks fail and the first failure is an Error
+     * @throws IllegalArgumentException if there are no blocks
+     * @see Async#awaitAny(Collection, long)
+     */
+    public <T> T awaitAny(Collection<? extends Callable<? extends T>> blocks, long millis) {
+        Objects.requireNonNull(blocks, "Blocks should not be null");
+        if (blocks.isEmpty()) {
+            throw new IllegalArgumentException("No blocks to await");
+        }
+        final long timeout = scopedTimeout(millis);
+        final long deadline = deadlineNanos(timeout);
+        final var group = new TaskGroup<T>(launcher, exceptionWrapping);
+        startAll(group, blocks);
+        Throwable failure = null;
+        while (group.pending() > 0) {
+            final TaskGroup<T>.Member member = pollGroup(group, deadline, timeout);
+            if (member.failure == null) {
+                group.cancelAll(true);
+                return member.value;
+            }
+            if (failure == null) {
+                failure = member.failure;
+            } else if (failure != member.failure) {
+                failure.addSuppressed(member.failure);
+            }
+        }
+        throw Async.rethrow(failure);
+    }
+
+    /**
+     * Executes a callable block and, if it does not complete within the hedge delay of the policy,
+     * starts a backup attempt of the same block and returns the result of the first successful attempt.
+     *
+     * @param <T>    The type of the result
+     * @param block  The idempotent callable block to be executed asynchronously
+     * @param policy The hedge policy
+     * @return The result of the first successful attempt
+     * @throws CompletionException   if the waiting thread is interrupted or if all attempts throw exceptions
+     * @throws Error                 if all attempts fail and the first failure is an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     * @see Async#awaitHedged(Callable, HedgePolicy)
+     */
+    public <T> T awaitHedged(Callable<? extends T> block, HedgePolicy policy) {
+        return awaitHedged(block, policy, 0);
+    }
+
+    /**
+     * Executes a callable block and, if it does not complete within the hedge delay of the policy,
+     * starts a backup attempt of the same block and returns the result of the first successful attempt.
+     * <p>
+     * As soon as an attempt succeeds, the other one is cancelled and its thread is interrupted.
+     * A failure of the first attempt before the hedge delay is thrown right away, the same way as by
+     * {@link #await(Callable)}. Once both attempts are running, the call fails only if both fail,
+     * with the second failure attached as {@linkplain Throwable#getSuppressed() suppressed}.
+     * No backup attempt is started when the {@linkplain HedgePolicy.Builder#maxHedgeRatio(double) hedge rate}
+     * of the policy is exceeded.
+     * </p>
+     *
+     * @param <T>    The type of the result
+     * @param block  The idempotent callable block to be executed asynchronously
+     * @param policy The hedge policy
+     * @param millis The maximum time to wait for a successful attempt, in milliseconds
+     * @return The result of the first successful attempt
+     * @throws CompletionException   if the waiting thread is interrupted, if all attempts throw exceptions
+     *                               or if no attempt succeeds in time
+     * @throws Error                 if all attempts fail and the first failure is an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     * @see Async#awaitHedged(Callable, HedgePolicy, long)
+     */
+    public <T> T awaitHedged(Callable<? extends T> block, HedgePolicy policy, long millis) {
+        Objects.requireNonNull(block, "Callable should not be null");
+        Objects.requireNonNull(policy, "Policy should not be null");
+        final long timeout = scopedTimeout(millis);
+        final long deadline = deadlineNanos(timeout);
+        final long start = System.nanoTime();
+        final long hedgeAt = start + policy.startCall();
+        final var group = new TaskGroup<T>(launcher, exceptionWrapping);
+        group.start(block, 0);
+        TaskGroup<T>.Member member = null;
+        if (deadline == 0 || hedgeAt - deadline < 0) {
+            member = pollUntil(group, hedgeAt == 0 ? 1 : hedgeAt);
+            if (member == null && policy.tryHedge()) {
+                group.start(block, 1);
+            }
+        }
+        Throwable failure = null;
+        while (true) {
+            if (member == null) {
+                member = pollGroup(group, deadline, timeout);
+            }
+            if (member.failure == null) {
+                group.cancelAll(true);
+                final long elapsed = System.nanoTime() - start;
+                if (member.index == 0) {
+                    policy.record(elapsed);
+                } else {
+                    policy.recordCensored(elapsed); // the cancelled first attempt would have taken longer
+                }
+                return member.value;
+            }
+            if (failure == null) {
+                failure = member.failure;
+            } else if (failure != member.failure) {
+                failure.addSuppressed(member.failure);
+            }
+            if (group.pending() == 0) {
+                throw Async.rethrow(failure);
+            }
+            member = null;
+        }
+    }
+
+    /**
+     * Applies the function to each item in parallel, keeping at most {@code maxConcurrency} blocks in flight.
+     * <p>
+     * Items are pulled from the iterable lazily: the next item is taken only when a running block completes,
+     * so pending items are never held in memory up front. On the first failure, the blocks in flight
+     * are cancelled and their threads are interrupted.
+     * </p>
+     *
+     * @param <T>            The type of the items
+     * @param <R>            The type of the results
+     * @param items          The items to map
+     * @param function       The function to apply to each item
+     * @param maxConcurrency The maximum number of blocks running at the same time
+     * @return The results, in the order of the items
+     * @throws CompletionException      if the waiting thread is interrupted or if the function throws an exception
+     * @throws Error                    if the function throws an Error
+     * @throws IllegalArgumentException if {@code maxConcurrency} is not positive
+     * @see Async#mapParallel(Iterable, ThrowingFunction, int)
+     */
+    public <T, R> List<R> mapParallel(Iterable<? extends T> items,
+                                      ThrowingFunction<? super T, ? extends R> function,
+                                      int maxConcurrency) {
+        Objects.requireNonNull(items, "Items should not be null");
+        Objects.requireNonNull(function, "Function should not be null");
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency should be positive: " + maxConcurrency);
+        }
+        final long timeout = scopedTimeout(0);
+        final long deadline = deadlineNanos(timeout);
+        final var results = new ArrayList<R>();
+        final var iterator = items.iterator();
+        final var group = new TaskGroup<R>(launcher, exceptionWrapping);
+        try {
+            while (true) {
+                while (group.pending() < maxConcurrency && iterator.hasNext()) {
+                    results.add(null);
+                    group.start(function, iterator.next(), results.size() - 1);
+                }
+                if (group.pending() == 0) {
+                    break;
+                }
+                final TaskGroup<R>.Member member = pollGroup(group, deadline, timeout);
+                if (member.failure != null) {
+                    throw Async.rethrow(member.failure);
+                }
+                results.set(member.index, member.value);
+            }
+        } catch (RuntimeException | Error e) {
+            group.cancelAll(true);
+            throw e;
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    /**
+     * Applies the function to each element of the stream in parallel,
+     * keeping at most {@code maxConcurrency} blocks in flight.
+     * The stream is consumed lazily and closed afterwards.
+     *
+     * @param <T>            The type of the elements
+     * @param <R>            The type of the results
+     * @param items          The stream of elements to map
+     * @param function       The function to apply to each element
+     * @param maxConcurrency The maximum number of blocks running at the same time
+     * @return The results, in the encounter order of the stream
+     * @throws CompletionException      if the waiting thread is interrupted or if the function throws an exception
+     * @throws Error                    if the function throws an Error
+     * @throws IllegalArgumentException if {@code maxConcurrency} is not positive
+     * @see #mapParallel(Iterable, ThrowingFunction, int)
+     */
+    @SuppressWarnings("unchecked")
+    public <T, R> List<R> mapParallel(Stream<? extends T> items,
+                                      ThrowingFunction<? super T, ? extends R> function,
+                                      int maxConcurrency) {
+        Objects.requireNonNull(items, "Items should not be null");
+        try (items) {
+            final Iterator<? extends T> iterator = items.iterator();
+            final Iterable<T> iterable = () -> (Iterator<T>) iterator;
+            return mapParallel(iterable, function, maxConcurrency);
+        }
+    }
+
+    /**
+     * Executes callable blocks in parallel and streams their results in completion order.
+     * <p>
+     * Blocks are started immediately. The stream blocks until the next result is available,
+     * so each result can be processed as soon as it arrives instead of waiting for the slowest block.
+     * Failures are not thrown, but returned as {@linkplain Result#isFailure() failed} results,
+     * translated the same way as by {@link #await(Callable)}.
+     * </p>
+     * <p>
+     * The stream is sequential. Closing it cancels the blocks which have not completed yet
+     * and interrupts their threads, so use it in a try-with-resources statement if it might not be
+     * consumed to the end. Such blocks are counted by {@link #cancelledTaskCount()}.
+     * </p>
+     *
+     * @param <T>    The type of the results
+     * @param blocks The callable blocks to be executed asynchronously
+     * @return The stream of results in completion order
+     * @throws CompletionException if the thread consuming the stream is interrupted
+     *                             or the {@linkplain Deadline deadline} of the current scope passes
+     * @see Async#awaitCompletions(Collection)
+     */
+    public <T> Stream<Result<T>> awaitCompletions(Collection<? extends Callable<? extends T>> blocks) {
+        Objects.requireNonNull(blocks, "Blocks should not be null");
+        final long timeout = scopedTimeout(0);
+        final var group = new TaskGroup<T>(launcher, exceptionWrapping);
+        startAll(group, blocks);
+        return StreamSupport.stream(new CompletionSpliterator<>(group, deadlineNanos(timeout), timeout), false)
+            .onClose(() -> cancelledTasks.add(group.cancelAll(true)));
+    }
+
+    /**
+     * Starts a block of code on its own thread without waiting for its completion.
+     * <p>
+     * Unlike starting a thread directly, launched blocks are tracked: failures are passed to the
+     * configured {@link LaunchErrorHandler}, the number of blocks still running is reported by
+     * {@link #inFlightTaskCount()}, and {@link #drain(Duration)} waits for them during shutdown.
+     * </p>
+     *
+     * @param block The code to be executed in the background
+     * @see Async#launch(ThrowingRunnable)
+     */
+    public void launch(ThrowingRunnable block) {
+        Objects.requireNonNull(block, "Block should not be null");
+        inFlightTasks.incrementAndGet();
+        try {
+            launcher.execute(new LaunchedTask(block));
+        } catch (RuntimeException | Error e) {
+            completeLaunchedTask();
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for launched blocks to complete, typically during shutdown.
+     * Blocks launched while draining are waited for as well.
+     *
+     * @param timeout The maximum time to wait
+     * @return {@code true} if no launched blocks are running, {@code false} if the timeout elapsed
+     * @throws CompletionException if the waiting thread is interrupted
+     * @see Async#drain(Duration)
+     */
+    public boolean drain(Duration timeout) {
+        long nanos = timeout.toNanos();
+        drainLock.lock();
+        try {
+            while (inFlightTasks.get() > 0) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = drained.awaitNanos(nanos);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException("Interrupted while draining launched tasks", e);
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of launched blocks which have not completed yet.
+     *
+     * @return the number of blocks in flight
+     */
+    public long inFlightTaskCount() {
+        return inFlightTasks.get();
+    }
+
+    /**
+     * Returns the number of launched blocks which have failed.
+     *
+     * @return the number of failed blocks
+     */
+    public long failedTaskCount() {
+        return failedTasks.sum();
+    }
+
+    /**
+     * Returns the number of tasks abandoned because they did not complete within the timeout.
+     *
+     * @return the number of tasks abandoned by this instance
+     */
+    public long abandonedTaskCount() {
+        return abandonedTasks.sum();
+    }
+
+    /**
+     * Returns the number of tasks cancelled because the waiting thread was interrupted,
+     * or because a {@linkplain #awaitCompletions(Collection) stream of completions} was closed before they completed.
+     *
+     * @return the number of tasks cancelled by this instance
+     */
+    public long cancelledTaskCount() {
+        return cancelledTasks.sum();
+    }
+
+    /**
+     * Starts the task and waits for its completion.
+     * <p>
+     * If the task does not complete in time, it is cancelled and counted as abandoned.
+     * If the waiting thread is interrupted, the task is cancelled, its thread is interrupted,
+     * and it is counted as cancelled.
+     * </p>
+     *
+     * @param task   the task to run
+     * @param millis the maximum time to wait in milliseconds, {@code 0} means to wait forever
+     * @throws CompletionException if the waiting thread is interrupted or the task does not complete in time
+     */
+    private void join(AwaitTask<?> task, long millis) {
+        final Throwable failure = tryJoin(task, millis);
+        if (failure != null) {
+            throw Async.rethrow(failure);
+        }
+    }
+
+    /**
+     * Starts the task and waits for its completion, returning the failure of waiting instead of throwing it.
+     *
+     * @param task   the task to run
+     * @param millis the maximum time to wait in milliseconds, {@code 0} means to wait forever
+     * @return {@code null} if the task is done, otherwise the {@link CompletionException} describing
+     * the interrupt of the waiting thread or the timeout, or the {@link RejectedExecutionException}
+     * if the task could not be started
+     */
+    private Throwable tryJoin(AwaitTask<?> task, long millis) {
+        final long timeout = Deadline.timeoutMillis(millis);
+        if (timeout < 0) {
+            return Async.deadlineExceededException();
+        }
+        task.wrapping = exceptionWrapping;
+        try {
+            launcher.execute(task);
+        } catch (RejectedExecutionException e) {
+            return e;
+        }
+        final boolean done;
+        try {
+            done = task.join(timeout);
+        } catch (InterruptedException e) {
+            if (task.cancel(true)) {
+                cancelledTasks.increment();
+            }
+            Thread.currentThread().interrupt();
+            return new CompletionException("Interrupted virtual thread", e);
+        }
+        if (!done && task.cancel(interruptOnTimeout)) {
+            abandonedTasks.increment();
+            return Async.timeoutException(timeout);
+        }
+        return null;
+    }
+
+    private <T> Result<T> awaitFutureResult(Future<T> future, long millis) {
+        Objects.requireNonNull(future, "Future should not be null");
+        final Result<T> doneResult = Async.doneFutureResult(future, exceptionWrapping);
+        if (doneResult != null) {
+            return doneResult;
+        }
+        final var task = new AwaitTask.GetTask<>(future, millis);
+        final Throwable failure = tryJoin(task, 0);
+        return failure == null ? task.toResult() : Result.failure(failure);
+    }
+
+    /**
+     * Starts all blocks as members of the group, indexed in iteration order.
+     * Cancels already started members if a block can not be started.
+     */
+    private static <T> void startAll(TaskGroup<T> group, Collection<? extends Callable<? extends T>> blocks) {
+        try {
+            int index = 0;
+            for (final Callable<? extends T> block : blocks) {
+                group.start(Objects.requireNonNull(block, "Callable should not be null"), index++);
+            }
+        } catch (RuntimeException | Error e) {
+            group.cancelAll(true);
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for the next completed task of the group.
+     * Cancels the group if the waiting thread is interrupted or the deadline has passed.
+     * On interrupt, threads running the pending tasks are interrupted as well.
+     *
+     * @param group    the group of tasks
+     * @param deadline the deadline in terms of {@link System#nanoTime()}, or {@code 0} to wait forever
+     * @param millis   the timeout used to calculate the deadline
+     * @return the completed task
+     * @throws CompletionException if the waiting thread is interrupted or the deadline has passed
+     */
+    private <T> TaskGroup<T>.Member pollGroup(TaskGroup<T> group, long deadline, long millis) {
+        final TaskGroup<T>.Member member;
+        try {
+            member = group.poll(deadline);
+        } catch (InterruptedException e) {
+            cancelledTasks.add(group.cancelAll(true));
+            Thread.currentThread().interrupt();
+            throw new CompletionException("Interrupted virtual thread", e);
+        }
+        if (member == null) {
+            abandonedTasks.add(group.cancelAll(interruptOnTimeout));
+            throw Async.timeoutException(millis);
+        }
+        return member;
+    }
+
+    /**
+     * Waits for the next completed task of the group, but not after the given time.
+     * Cancels the group if the waiting thread is interrupted.
+     *
+     * @param group the group of tasks
+     * @param until the time to stop waiting in terms of {@link System#nanoTime()}, not {@code 0}
+     * @return the completed task, or {@code null} if the time has come
+     * @throws CompletionException if the waiting thread is interrupted
+     */
+    private <T> TaskGroup<T>.Member pollUntil(TaskGroup<T> group, long until) {
+        try {
+            return group.poll(until);
+        } catch (InterruptedException e) {
+            cancelledTasks.add(group.cancelAll(true));
+            Thread.currentThread().interrupt();
+            throw new CompletionException("Interrupted virtual thread", e);
+        }
+    }
+
+    /**
+     * Limits the timeout by the {@linkplain Deadline deadline} of the current scope.
+     *
+     * @param millis the requested timeout in milliseconds, {@code 0} means to wait forever
+     * @return the timeout to use in milliseconds, {@code 0} means to wait forever
+     * @throws CompletionException if the deadline has passed already
+     */
+    private static long scopedTimeout(long millis) {
+        final long timeout = Deadline.timeoutMillis(millis);
+        if (timeout < 0) {
+            throw Async.deadlineExceededException();
+        }
+        return timeout;
+    }
+
+    private static long deadlineNanos(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("timeout value is negative");
+        }
+        if (millis == 0) {
+            return 0;
+        }
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        return deadline == 0 ? 1 : deadline;
+    }
+
+    /**
+     * Spliterator polling the results of the group in completion order. It never splits,
+     * because polling ahead on other threads would defeat completion order.
+     */
+    private final class CompletionSpliterator<T> implements Spliterator<Result<T>> {
+
+        private final TaskGroup<T> group;
+        private final long deadline;
+        private final long timeout;
+
+        private CompletionSpliterator(TaskGroup<T> group, long deadline, long timeout) {
+            this.group = group;
+            this.deadline = deadline;
+            this.timeout = timeout;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Result<T>> action) {
+            if (group.pending() == 0) {
+                return false;
+            }
+            action.accept(pollGroup(group, deadline, timeout).toResult());
+            return true;
+        }
+
+        @Override
+        public Spliterator<Result<T>> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return group.pending();
+        }
+
+        @Override
+        public int characteristics() {
+            return SIZED | NONNULL;
+        }
+    }
+
+    /**
+     * Runs the task on the calling thread in caller-runs mode, unless the await is time-limited,
+     * otherwise starts it and waits for its completion.
+     *
+     * @param task   the task to run
+     * @param millis the maximum time to wait in milliseconds, {@code 0} means to wait forever
+     * @return the result of the task
+     */
+    private <T> T runTask(AwaitTask<T> task, long millis) {
+        if (runsOnCaller(millis)) {
+            task.wrapping = exceptionWrapping;
+            task.failure = task.execute();
+        } else {
+            join(task, millis);
+        }
+        return task.getOrThrow();
+    }
+
+    private void completeLaunchedTask() {
+        if (inFlightTasks.decrementAndGet() == 0) {
+            drainLock.lock();
+            try {
+                drained.signalAll();
+            } finally {
+                drainLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Block started by {@link #launch(ThrowingRunnable)}, tracked until it completes.
+     */
+    private final class LaunchedTask implements Runnable {
+
+        private final ThrowingRunnable block;
+
+        private LaunchedTask(ThrowingRunnable block) {
+            this.block = block;
+        }
+
+        @Override
+        @SuppressWarnings("java:S1181")
+        public void run() {
+            try {
+                block.run();
+            } catch (Throwable e) {
+                failedTasks.increment();
+                launchErrorHandler.handle(e);
+            } finally {
+                completeLaunchedTask();
+            }
+        }
+    }
+
+    private <T> T joinForResult(AwaitTask<T> task) {
+        join(task, 0);
+        return task.getOrThrow();
+    }
+
+    /**
+     * Checks whether the block should run directly on the calling thread.
+     * A block awaited with a timeout or within a {@link Deadline} scope is started on another thread,
+     * because the time limit can only be enforced by abandoning it.
+     *
+     * @param millis the timeout of the await in milliseconds, {@code 0} means to wait forever
+     * @return {@code true} if caller-runs mode is enabled, the current thread is virtual and the await is not time-limited
+     */
+    private boolean runsOnCaller(long millis) {
+        return callerRuns && millis == 0 && Deadline.current() == null && Thread.currentThread().isVirtual();
+    }
+
+    /**
+     * Builder of {@link Awaiter} instances.
+     * <p>
+     * Threads are obtained from the first configured source, in order of precedence:
+     * {@linkplain #executor(ExecutorService) executor}, {@linkplain #threadFactory(ThreadFactory) thread factory},
+     * {@linkplain #threadBuilder(Thread.Builder) thread builder}. If none is configured, virtual threads are
+     * created according to {@linkplain #name(String) name} or {@linkplain #unnamed() unnamed},
+     * {@linkplain #inheritInheritableThreadLocals(boolean) thread locals inheritance} and
+     * {@linkplain #uncaughtExceptionHandler(Thread.UncaughtExceptionHandler) uncaught exception handler} settings.
+     * </p>
+     */
+    public static final class Builder {
+
+        private ExecutorService executor;
+        private ThreadFactory threadFactory;
+        private Thread.Builder threadBuilder;
+        private String name = "async-virtual-";
+        private boolean inheritInheritableThreadLocals = true;
+        private Thread.UncaughtExceptionHandler uncaughtExceptionHandler;
+        private boolean callerRuns = Boolean.getBoolean(Async.CALLER_RUNS_PROPERTY);
+        private boolean interruptOnTimeout = Boolean.parseBoolean(
+            System.getProperty(Async.INTERRUPT_ON_TIMEOUT_PROPERTY, "true")
+        );
+        private ExceptionWrapping exceptionWrapping = ExceptionWrapping.CURRENT;
+        private LaunchErrorHandler launchErrorHandler = LaunchErrorHandler.UNCAUGHT;
+
+        private Builder() {
+            // use Awaiter.builder()
+        }
+
+        /**
+         * Runs blocks on the given executor service instead of starting new threads.
+         *
+         * @param executor the executor service, or {@code null} to start new threads
+         * @return this builder
+         */
+        public Builder executor(ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Starts blocks on threads created by the given factory. If the factory refuses to create a thread
+         * by returning {@code null}, the block is rejected with {@link RejectedExecutionException}.
+         *
+         * @param threadFactory the thread factory, or {@code null} to use the thread builder
+         * @return this builder
+         */
+        public Builder threadFactory(ThreadFactory threadFactory) {
+            this.threadFactory = threadFactory;
+            return this;
+        }
+
+        /**
+         * Starts blocks on threads created by the given builder, for example {@code Thread.ofPlatform()}.
+         * Later changes of the builder do not affect the awaiter.
+         *
+         * @param threadBuilder the thread builder, or {@code null} to build virtual threads
+         * @return this builder
+         */
+        public Builder threadBuilder(Thread.Builder threadBuilder) {
+            this.threadBuilder = threadBuilder;
+            return this;
+        }
+
+        /**
+         * Sets the name prefix of virtual threads, followed by a sequence number.
+         *
+         * @param prefix the thread name prefix, {@code async-virtual-} by default
+         * @return this builder
+         */
+        public Builder name(String prefix) {
+            this.name = Objects.requireNonNull(prefix, "Prefix should not be null");
+            return this;
+        }
+
+        /**
+         * Leaves virtual threads unnamed, which saves building a name string for every block.
+         * <p>
+         * The JDK does not allow naming a thread lazily on inspection, but unnamed virtual threads
+         * are still identified by their id in thread dumps and {@link Thread#toString()},
+         * e.g. {@code VirtualThread[#42]/runnable}.
+         * </p>
+         *
+         * @return this builder
+         */
+        public Builder unnamed() {
+            this.name = null;
+            return this;
+        }
+
+        /**
+         * Sets whether virtual threads inherit the initial values of inheritable thread-local variables.
+         *
+         * @param inherit {@code true} to inherit, {@code true} by default
+         * @return this builder
+         */
+        public Builder inheritInheritableThreadLocals(boolean inherit) {
+            this.inheritInheritableThreadLocals = inherit;
+            return this;
+        }
+
+        /**
+         * Sets the uncaught exception handler of virtual threads.
+         *
+         * @param handler the uncaught exception handler
+         * @return this builder
+         */
+        public Builder uncaughtExceptionHandler(Thread.UncaughtExceptionHandler handler) {
+            this.uncaughtExceptionHandler = handler;
+            return this;
+        }
+
+        /**
+         * Sets whether blocks awaited from a virtual thread run directly on the calling thread.
+         * Blocks awaited with a timeout or within a {@link Deadline} scope are still started on another thread,
+         * so the time limit is enforced.
+         *
+         * @param callerRuns {@code true} to enable the caller-runs mode
+         * @return this builder
+         * @see Async#CALLER_RUNS_PROPERTY
+         */
+        public Builder callerRuns(boolean callerRuns) {
+            this.callerRuns = callerRuns;
+            return this;
+        }
+
+        /**
+         * Sets whether threads running blocks that have not completed in time are interrupted.
+         *
+         * @param interruptOnTimeout {@code true} to interrupt, {@code false} to let abandoned blocks complete
+         * @return this builder
+         * @see Async#INTERRUPT_ON_TIMEOUT_PROPERTY
+         */
+        public Builder interruptOnTimeout(boolean interruptOnTimeout) {
+            this.interruptOnTimeout = interruptOnTimeout;
+            return this;
+        }
+
+        /**
+         * Sets how checked exceptions thrown by blocks are wrapped before they are rethrown.
+         *
+         * @param exceptionWrapping the wrapping mode, selected by {@value Async#EXCEPTION_WRAPPING_PROPERTY} by default
+         * @return this builder
+         * @see Async#EXCEPTION_WRAPPING_PROPERTY
+         */
+        public Builder exceptionWrapping(ExceptionWrapping exceptionWrapping) {
+            this.exceptionWrapping = Objects.requireNonNull(exceptionWrapping, "Exception wrapping should not be null");
+            return this;
+        }
+
+        /**
+         * Sets the handler of failures of blocks started with {@link Awaiter#launch(ThrowingRunnable)}.
+         *
+         * @param handler the error handler, {@link LaunchErrorHandler#UNCAUGHT} by default
+         * @return this builder
+         */
+        public Builder launchErrorHandler(LaunchErrorHandler handler) {
+            this.launchErrorHandler = Objects.requireNonNull(handler, "Handler should not be null");
+            return this;
+        }
+
+        /**
+         * Creates a new {@link Awaiter}.
+         *
+         * @return a new awaiter
+         */
+        public Awaiter build() {
+            return new Awaiter(this);
+        }
+
+        /**
+         * Creates the source of threads. Thread builders are not safe for concurrent use,
+         * so they are converted to thread-safe {@link ThreadFactory} instances.
+         */
+        private Executor launcher() {
+            if (executor != null) {
+                return executor;
+            }
+            final ThreadFactory factory;
+            if (threadFactory != null) {
+                factory = threadFactory;
+            } else if (threadBuilder != null) {
+                factory = threadBuilder.factory();
+            } else {
+                final var builder = Thread.ofVirtual()
+                    .inheritInheritableThreadLocals(inheritInheritableThreadLocals);
+                if (name != null) {
+                    builder.name(name, 0);
+                }
+                if (uncaughtExceptionHandler != null) {
+                    builder.uncaughtExceptionHandler(uncaughtExceptionHandler);
+                }
+                factory = builder.factory();
+            }
+            return task -> {
+                final Thread thread = factory.newThread(task);
+                if (thread == null) {
+                    throw new RejectedExecutionException("Thread factory has not created a thread");
+                }
+                thread.start();
+            };
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package me.kpavlov.await4j;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bulkhead limiting the number of concurrent calls to a single dependency, such as a database
+ * or a remote service, see {@link Async#await(Callable, Bulkhead)}.
+ * <p>
+ * Virtual threads are cheap, so nothing else keeps thousands of them from hitting the same connection pool.
+ * A bulkhead holds a fair semaphore with {@linkplain Builder#maxConcurrentCalls(int) a permit per concurrent call}.
+ * Calls arriving when all permits are taken wait in a bounded {@linkplain Builder#maxQueueDepth(int) queue}
+ * for at most {@linkplain Builder#maxWait(Duration) the maximum wait time}, and are rejected with
+ * {@link RejectedExecutionException} when the queue is full or the time elapses.
+ * The wait is also limited by the {@linkplain Deadline deadline} of the current scope: when it passes first,
+ * the call fails with {@link CompletionException} caused by {@link TimeoutException}, as other awaits do.
+ * </p>
+ * <pre>{@code
+ * private static final Bulkheads BULKHEADS = Bulkheads.create(name -> Bulkhead.builder(name)
+ *     .maxConcurrentCalls(20)
+ *     .maxQueueDepth(100)
+ *     .maxWait(Duration.ofMillis(50))
+ *     .build());
+ * ...
+ * final var orders = Async.await(() -> loadOrders(userId), BULKHEADS.get("orders-db"));
+ * }</pre>
+ * <p>
+ * Waiting callers park on the semaphore, which unmounts virtual threads from their carriers.
+ * {@link Async#await(Callable, Bulkhead)} waits for the permit on the calling thread, so rejected calls
+ * do not start a thread at all. A permit is held until the block completes, even if the caller has
+ * stopped waiting for it.
+ * </p>
+ */
+public final class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final int maxQueueDepth;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final LongAdder permittedCalls = new LongAdder();
+    private final LongAdder rejectedCalls = new LongAdder();
+    private final LongAdder permitWaitNanos = new LongAdder();
+
+    private Bulkhead(Builder builder) {
+        this.name = builder.name;
+        this.maxConcurrentCalls = builder.maxConcurrentCalls;
+        this.maxQueueDepth = builder.maxQueueDepth;
+        this.maxWaitNanos = builder.maxWait.toNanos();
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+    }
+
+    /**
+     * Creates a new builder of a bulkhead with default settings: 25 concurrent calls,
+     * no queue and no waiting.
+     *
+     * @param name the name of the bulkhead, usually the name of the dependency
+     * @return a new builder
+     */
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * Returns the name of the bulkhead.
+     *
+     * @return the name
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the number of permits not taken by running calls.
+     *
+     * @return the number of available permits
+     */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Returns the number of calls waiting for a permit.
+     *
+     * @return the current queue depth
+     */
+    public int queueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * Returns the number of calls which have got a permit.
+     *
+     * @return the number of permitted calls
+     */
+    public long permittedCallCount() {
+        return permittedCalls.sum();
+    }
+
+    /**
+     * Returns the number of calls rejected because the queue was full or the wait time elapsed.
+     *
+     * @return the number of rejected calls
+     */
+    public long rejectedCallCount() {
+        return rejectedCalls.sum();
+    }
+
+    /**
+     * Returns the total time permitted calls have waited for their permits.
+     * Divide it by {@link #permittedCallCount()} to get the average wait time.
+     *
+     * @return the total permit wait time
+     */
+    public Duration permitWaitTime() {
+        return Duration.ofNanos(permitWaitNanos.sum());
+    }
+
+    /**
+     * Returns a callable calling the block once a permit is acquired, and releasing the permit afterwards.
+     * The decorated callable can be passed to any {@code await} method.
+     *
+     * @param <T>   the type of the result
+     * @param block the block to guard
+     * @return the guarded callable, throwing {@link RejectedExecutionException} if no permit is acquired
+     * or {@link CompletionException} if the {@linkplain Deadline deadline} of the current scope passes first
+     */
+    public <T> Callable<T> decorate(Callable<T> block) {
+        Objects.requireNonNull(block, "Callable should not be null");
+        return () -> {
+            acquire();
+            try {
+                return block.call();
+            } finally {
+                release();
+            }
+        };
+    }
+
+    /**
+     * Returns a runnable running the block once a permit is acquired, and releasing the permit afterwards.
+     * The decorated runnable can be passed to any {@code await} method.
+     *
+     * @param block the block to guard
+     * @return the guarded runnable, throwing {@link RejectedExecutionException} if no permit is acquired
+     * or {@link CompletionException} if the {@linkplain Deadline deadline} of the current scope passes first
+     */
+    public ThrowingRunnable decorate(ThrowingRunnable block) {
+        Objects.requireNonNull(block, "Block should not be null");
+        return () -> {
+            acquire();
+            try {
+                block.run();
+            } finally {
+                release();
+            }
+        };
+    }
+
+    /**
+     * Acquires a permit, waiting in the queue if needed.
+     *
+     * @throws RejectedExecutionException if the queue is full or the wait time elapses
+     * @throws CompletionException        if the deadline of the current scope has passed or passes while waiting
+     * @throws InterruptedException       if the waiting thread is interrupted
+     */
+    void acquire() throws InterruptedException {
+        final long remainingNanos = Deadline.remaining().map(Duration::toNanos).orElse(Long.MAX_VALUE);
+        if (remainingNanos <= 0) {
+            throw Async.deadlineExceededException();
+        }
+        if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+            permittedCalls.increment();
+            return;
+        }
+        if (queueDepth.incrementAndGet() > maxQueueDepth) {
+            queueDepth.decrementAndGet();
+            rejectedCalls.increment();
+            throw new RejectedExecutionException("Bulkhead " + name + " is full");
+        }
+        final long start = System.nanoTime();
+        final boolean acquired;
+        try {
+            acquired = permits.tryAcquire(Math.min(maxWaitNanos, remainingNanos), TimeUnit.NANOSECONDS);
+        } finally {
+            queueDepth.decrementAndGet();
+        }
+        if (!acquired) {
+            if (remainingNanos < maxWaitNanos) {
+                throw Async.deadlineExceededException();
+            }
+            rejectedCalls.increment();
+            throw new RejectedExecutionException("Bulkhead " + name + " permit wait timed out");
+        }
+        permittedCalls.increment();
+        permitWaitNanos.add(System.nanoTime() - start);
+    }
+
+    /**
+     * Releases a permit acquired by {@link #acquire()}.
+     */
+    void release() {
+        permits.release();
+    }
+
+    /**
+     * Creates a task calling the block with a permit already acquired by the caller.
+     * The permit is released when the block completes, or when the task is cancelled before it has started.
+     *
+     * @param <T>   the type of the result
+     * @param block the block to call
+     * @return the task holding the permit
+     */
+    <T> AwaitTask<T> newTask(Callable<T> block) {
+        return new PermitTask<>(block);
+    }
+
+    @Override
+    public String toString() {
+        return "Bulkhead{name=" + name +
+            ", availablePermits=" + availablePermits() + '/' + maxConcurrentCalls +
+            ", queueDepth=" + queueDepth() + '/' + maxQueueDepth + '}';
+    }
+
+    /**
+     * Task calling a block with a permit of this bulkhead, see {@link #newTask(Callable)}.
+     */
+    private final class PermitTask<T> extends AwaitTask<T> {
+
+        private final Callable<T> block;
+
+        private PermitTask(Callable<T> block) {
+            this.block = block;
+        }
+
+        @Override
+        @SuppressWarnings("java:S1181")
+        Throwable execute() {
+            try {
+                value = block.call();
+                return null;
+            } catch (Throwable e) {
+                return Async.translateFailure(e, wrapping);
+            } finally {
+                release();
+            }
+        }
+
+        @Override
+        void cancelledBeforeStart() {
+            release();
+        }
+    }
+
+    /**
+     * Builder of {@link Bulkhead} instances.
+     */
+    public static final class Builder {
+
+        private final String name;
+        private int maxConcurrentCalls = 25;
+        private int maxQueueDepth;
+        private Duration maxWait = Duration.ZERO;
+
+        private Builder(String name) {
+            this.name = Objects.requireNonNull(name, "Name should not be null");
+        }
+
+        /**
+         * Sets the maximum number of calls running at the same time.
+         *
+         * @param maxConcurrentCalls the number of permits, {@code 25} by default
+         * @return this builder
+         * @throws IllegalArgumentException if the number is not positive
+         */
+        public Builder maxConcurrentCalls(int maxConcurrentCalls) {
+            if (maxConcurrentCalls <= 0) {
+                throw new IllegalArgumentException("maxConcurrentCalls should be positive: " + maxConcurrentCalls);
+            }
+            this.maxConcurrentCalls = maxConcurrentCalls;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of calls waiting for a permit. Further calls are rejected right away.
+         *
+         * @param maxQueueDepth the maximum queue depth, {@code 0} by default
+         * @return this builder
+         * @throws IllegalArgumentException if the depth is negative
+         */
+        public Builder maxQueueDepth(int maxQueueDepth) {
+            if (maxQueueDepth < 0) {
+                throw new IllegalArgumentException("maxQueueDepth should not be negative: " + maxQueueDepth);
+            }
+            this.maxQueueDepth = maxQueueDepth;
+            return this;
+        }
+
+        /**
+         * Sets the maximum time a queued call waits for a permit.
+         *
+         * @param maxWait the maximum wait time, zero by default
+         * @return this builder
+         * @throws IllegalArgumentException if the time is negative
+         */
+        public Builder maxWait(Duration maxWait) {
+            Objects.requireNonNull(maxWait, "maxWait should not be null");
+            if (maxWait.isNegative()) {
+                throw new IllegalArgumentException("maxWait should not be negative: " + maxWait);
+            }
+            this.maxWait = maxWait;
+            return this;
+        }
+
+        /**
+         * Creates a new {@link Bulkhead}.
+         *
+         * @return a new bulkhead
+         */
+        public Bulkhead build() {
+            return new Bulkhead(this);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package me.kpavlov.await4j;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Registry of {@link Bulkhead}s keyed by the name of the dependency they protect.
+ * <p>
+ * Bulkheads are created on first use by the factory passed to {@link #create(Function)},
+ * so each database or service gets its own limit without being configured up front.
+ * The registry is thread-safe.
+ * </p>
+ */
+public final class Bulkheads {
+
+    private final Function<? super String, Bulkhead> factory;
+    private final ConcurrentMap<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    private Bulkheads(Function<? super String, Bulkhead> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Creates a new registry.
+     *
+     * @param factory the factory creating the bulkhead for a name, e.g. {@code name -> Bulkhead.builder(name).build()}
+     * @return a new empty registry
+     */
+    public static Bulkheads create(Function<? super String, Bulkhead> factory) {
+        return new Bulkheads(Objects.requireNonNull(factory, "Factory should not be null"));
+    }
+
+    /**
+     * Returns the bulkhead of the dependency, creating it on first use.
+     *
+     * @param name the name of the dependency
+     * @return the bulkhead
+     */
+    public Bulkhead get(String name) {
+        Objects.requireNonNull(name, "Name should not be null");
+        final Bulkhead bulkhead = bulkheads.get(name);
+        return bulkhead != null ? bulkhead : bulkheads.computeIfAbsent(name,
+            key -> Objects.requireNonNull(factory.apply(key), "Bulkhead should not be null"));
+    }
+
+    /**
+     * Returns the bulkheads created so far, e.g. to export their metrics.
+     *
+     * @return the unmodifiable view of the bulkheads
+     */
+    public Collection<Bulkhead> all() {
+        return Collections.unmodifiableCollection(bulkheads.values());
+    }
+
+    @Override
+    public String toString() {
+        return "Bulkheads" + bulkheads.values();
+    }
+}
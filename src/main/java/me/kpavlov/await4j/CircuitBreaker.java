@@ -0,0 +1,448 @@
+package me.kpavlov.await4j;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Lock-free circuit breaker failing calls to a dependency fast while it is down,
+ * see {@link Async#awaitResult(Callable, CircuitBreaker)}.
+ * <p>
+ * While {@linkplain State#CLOSED closed}, the breaker records the outcomes of the last
+ * {@linkplain Builder#windowSize(int) calls} in a sliding window. When the rate of failed or slow calls
+ * reaches its threshold, the breaker {@linkplain State#OPEN opens}: calls are rejected with
+ * {@link RejectedExecutionException} right away, without starting a thread.
+ * After the {@linkplain Builder#openDuration(Duration) open duration}, the breaker lets a few trial calls
+ * through in the {@linkplain State#HALF_OPEN half-open} state: it closes again if all of them succeed
+ * in time, otherwise it opens again.
+ * </p>
+ * <pre>{@code
+ * private static final CircuitBreaker BREAKER = CircuitBreaker.builder()
+ *     .failureRateThreshold(0.5)
+ *     .slowCallDuration(Duration.ofMillis(500))
+ *     .slowCallRateThreshold(0.8)
+ *     .build();
+ * ...
+ * final Result<User> user = Async.awaitResult(() -> loadUser(id), BREAKER);
+ * }</pre>
+ * <p>
+ * All state transitions are made by compare-and-set, so callers never block on the breaker.
+ * A breaker is thread-safe: share one instance per dependency.
+ * </p>
+ */
+public final class CircuitBreaker {
+
+    private static final int SUCCEEDED = 0b100;
+    private static final int FAILED = 0b001;
+    private static final int SLOW = 0b010;
+
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final Predicate<? super Throwable> recordFailure;
+    private final AtomicReference<Phase> phase;
+    private final LongAdder rejectedCalls = new LongAdder();
+
+    private CircuitBreaker(Builder builder) {
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.slowCallNanos = builder.slowCallDuration.toNanos();
+        this.windowSize = builder.windowSize;
+        this.minimumCalls = Math.min(builder.minimumCalls, builder.windowSize);
+        this.openNanos = builder.openDuration.toNanos();
+        this.halfOpenCalls = builder.halfOpenCalls;
+        this.recordFailure = builder.recordFailure;
+        this.phase = new AtomicReference<>(new Closed(windowSize));
+    }
+
+    /**
+     * Creates a new builder with default settings: opening when half of at least 10 of the last 100 calls
+     * fail or all of them take 10 s or longer, staying open for 10 s, and closing after 5 successful trial calls.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * State of a circuit breaker.
+     */
+    public enum State {
+        /**
+         * Calls are permitted and their outcomes are recorded.
+         */
+        CLOSED,
+        /**
+         * Calls are rejected.
+         */
+        OPEN,
+        /**
+         * A limited number of trial calls is permitted to check whether the dependency has recovered.
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * Returns the current state of the breaker.
+     *
+     * @return the current state
+     */
+    public State state() {
+        return switch (phase.get()) {
+            case Closed ignored -> State.CLOSED;
+            case Open ignored -> State.OPEN;
+            case HalfOpen ignored -> State.HALF_OPEN;
+        };
+    }
+
+    /**
+     * Returns the number of calls rejected because the breaker was open.
+     *
+     * @return the number of rejected calls
+     */
+    public long rejectedCallCount() {
+        return rejectedCalls.sum();
+    }
+
+    /**
+     * Returns a callable guarded by this breaker. It is rejected with {@link RejectedExecutionException}
+     * while the breaker is open, otherwise it calls the block and records its outcome.
+     * <p>
+     * The decorated callable can be passed to any {@code await} method, but it is rejected only
+     * on the thread started for it. Use {@link Async#awaitResult(Callable, CircuitBreaker)} to reject calls
+     * without starting a thread.
+     * </p>
+     *
+     * @param <T>   the type of the result
+     * @param block the block to guard
+     * @return the guarded callable
+     */
+    public <T> Callable<T> decorate(Callable<T> block) {
+        Objects.requireNonNull(block, "Callable should not be null");
+        return () -> {
+            final Phase permitted = acquirePermission();
+            if (permitted == null) {
+                throw openException();
+            }
+            final long start = System.nanoTime();
+            try {
+                final T value = block.call();
+                onComplete(permitted, null, System.nanoTime() - start);
+                return value;
+            } catch (Exception | Error e) {
+                onComplete(permitted, Async.translateFailure(e), System.nanoTime() - start);
+                throw e;
+            }
+        };
+    }
+
+    /**
+     * Acquires a permission to call the dependency.
+     *
+     * @return the phase the permission is acquired in, or {@code null} if the call is rejected
+     */
+    Phase acquirePermission() {
+        while (true) {
+            final Phase current = phase.get();
+            switch (current) {
+                case Closed closed -> {
+                    return closed;
+                }
+                case HalfOpen halfOpen -> {
+                    if (halfOpen.permits.getAndDecrement() > 0) {
+                        return halfOpen;
+                    }
+                    rejectedCalls.increment();
+                    return null;
+                }
+                case Open open -> {
+                    if (System.nanoTime() - open.since < openNanos) {
+                        rejectedCalls.increment();
+                        return null;
+                    }
+                    phase.compareAndSet(current, new HalfOpen(halfOpenCalls));
+                }
+            }
+        }
+    }
+
+    /**
+     * Records the outcome of a permitted call.
+     *
+     * @param permitted    the phase the permission was acquired in
+     * @param failure      the translated failure of the call, or {@code null} on success
+     * @param elapsedNanos the duration of the call
+     */
+    void onComplete(Phase permitted, Throwable failure, long elapsedNanos) {
+        final int slow = elapsedNanos >= slowCallNanos ? SLOW : 0;
+        if (failure == null || !recordFailure.test(failure)) {
+            record(permitted, SUCCEEDED | slow);
+        } else {
+            record(permitted, FAILED | slow);
+        }
+    }
+
+    /**
+     * Creates the exception rejecting a call while the breaker is open.
+     *
+     * @return the exception to throw or to return as a failed result
+     */
+    RejectedExecutionException openException() {
+        return new RejectedExecutionException("Circuit breaker is open");
+    }
+
+    private void record(Phase permitted, int outcome) {
+        final Phase current = phase.get();
+        if (current != permitted) {
+            return; // outcome of a call permitted before the last transition
+        }
+        switch (current) {
+            case Closed closed -> {
+                if (closed.record(outcome)) {
+                    phase.compareAndSet(current, new Open(System.nanoTime()));
+                }
+            }
+            case HalfOpen halfOpen -> {
+                if ((outcome & (FAILED | SLOW)) != 0) {
+                    phase.compareAndSet(current, new Open(System.nanoTime()));
+                } else if (halfOpen.successes.incrementAndGet() >= halfOpenCalls) {
+                    phase.compareAndSet(current, new Closed(windowSize));
+                }
+            }
+            case Open ignored -> {
+                // rejected calls are not recorded
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreaker{state=" + state() + ", rejectedCalls=" + rejectedCallCount() + '}';
+    }
+
+    /**
+     * Phase of the breaker. Each transition installs a new phase, so the counters of a phase
+     * never need to be reset.
+     */
+    sealed interface Phase permits Closed, Open, HalfOpen {
+    }
+
+    /**
+     * Closed phase recording outcomes in a count-based sliding window.
+     * Each slot swap adjusts the counters by the difference between the new and the replaced outcome,
+     * so the counters match the slots once concurrent updates are over. The rates are checked without
+     * locking, so a check racing with other calls may be off by the outcomes still being recorded,
+     * and a late update may overwrite the outcome of a newer call in the same slot.
+     */
+    private final class Closed implements Phase {
+
+        private final AtomicIntegerArray outcomes;
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger slowCalls = new AtomicInteger();
+
+        private Closed(int windowSize) {
+            this.outcomes = new AtomicIntegerArray(windowSize);
+        }
+
+        /**
+         * Records the outcome of a call.
+         *
+         * @param outcome the outcome flags
+         * @return {@code true} if a rate threshold is reached
+         */
+        private boolean record(int outcome) {
+            final long index = calls.getAndIncrement();
+            final int previous = outcomes.getAndSet((int) (index % windowSize), outcome);
+            final int failed = failures.addAndGet((outcome & FAILED) - (previous & FAILED));
+            final int slow = slowCalls.addAndGet(((outcome & SLOW) - (previous & SLOW)) >> 1);
+            final long total = Math.min(index + 1, windowSize);
+            return total >= minimumCalls &&
+                (failed >= failureRateThreshold * total || slow >= slowCallRateThreshold * total);
+        }
+    }
+
+    /**
+     * Open phase rejecting calls.
+     *
+     * @param since the time the breaker has opened in terms of {@link System#nanoTime()}
+     */
+    private record Open(long since) implements Phase {
+    }
+
+    /**
+     * Half-open phase permitting a limited number of trial calls.
+     */
+    private static final class HalfOpen implements Phase {
+
+        private final AtomicInteger permits;
+        private final AtomicInteger successes = new AtomicInteger();
+
+        private HalfOpen(int calls) {
+            this.permits = new AtomicInteger(calls);
+        }
+    }
+
+    /**
+     * Builder of {@link CircuitBreaker} instances.
+     */
+    public static final class Builder {
+
+        private double failureRateThreshold = 0.5;
+        private double slowCallRateThreshold = 1;
+        private Duration slowCallDuration = Duration.ofSeconds(10);
+        private int windowSize = 100;
+        private int minimumCalls = 10;
+        private Duration openDuration = Duration.ofSeconds(10);
+        private int halfOpenCalls = 5;
+        private Predicate<? super Throwable> recordFailure = e -> true;
+
+        private Builder() {
+            // use CircuitBreaker.builder()
+        }
+
+        /**
+         * Sets the rate of failed calls in the window opening the breaker.
+         *
+         * @param threshold the rate between {@code 0} exclusive and {@code 1} inclusive, {@code 0.5} by default
+         * @return this builder
+         * @throws IllegalArgumentException if the rate is out of range
+         */
+        public Builder failureRateThreshold(double threshold) {
+            this.failureRateThreshold = requireRate(threshold, "failureRateThreshold");
+            return this;
+        }
+
+        /**
+         * Sets the rate of slow calls in the window opening the breaker.
+         *
+         * @param threshold the rate between {@code 0} exclusive and {@code 1} inclusive, {@code 1} by default
+         * @return this builder
+         * @throws IllegalArgumentException if the rate is out of range
+         */
+        public Builder slowCallRateThreshold(double threshold) {
+            this.slowCallRateThreshold = requireRate(threshold, "slowCallRateThreshold");
+            return this;
+        }
+
+        /**
+         * Sets the duration from which a call is considered slow, whether it succeeds or fails.
+         *
+         * @param duration the slow call duration, 10 s by default
+         * @return this builder
+         * @throws IllegalArgumentException if the duration is not positive
+         */
+        public Builder slowCallDuration(Duration duration) {
+            this.slowCallDuration = requirePositive(duration, "slowCallDuration");
+            return this;
+        }
+
+        /**
+         * Sets the number of the last calls the rates are calculated over.
+         *
+         * @param windowSize the size of the sliding window, {@code 100} by default
+         * @return this builder
+         * @throws IllegalArgumentException if the size is not positive
+         */
+        public Builder windowSize(int windowSize) {
+            if (windowSize <= 0) {
+                throw new IllegalArgumentException("windowSize should be positive: " + windowSize);
+            }
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * Sets the minimum number of recorded calls before the rates are evaluated.
+         *
+         * @param minimumCalls the minimum number of calls, {@code 10} by default, limited by the window size
+         * @return this builder
+         * @throws IllegalArgumentException if the number is not positive
+         */
+        public Builder minimumCalls(int minimumCalls) {
+            if (minimumCalls <= 0) {
+                throw new IllegalArgumentException("minimumCalls should be positive: " + minimumCalls);
+            }
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * Sets the time the breaker stays open before permitting trial calls.
+         *
+         * @param duration the open duration, 10 s by default
+         * @return this builder
+         * @throws IllegalArgumentException if the duration is not positive
+         */
+        public Builder openDuration(Duration duration) {
+            this.openDuration = requirePositive(duration, "openDuration");
+            return this;
+        }
+
+        /**
+         * Sets the number of trial calls permitted in the half-open state.
+         *
+         * @param halfOpenCalls the number of trial calls, {@code 5} by default
+         * @return this builder
+         * @throws IllegalArgumentException if the number is not positive
+         */
+        public Builder halfOpenCalls(int halfOpenCalls) {
+            if (halfOpenCalls <= 0) {
+                throw new IllegalArgumentException("halfOpenCalls should be positive: " + halfOpenCalls);
+            }
+            this.halfOpenCalls = halfOpenCalls;
+            return this;
+        }
+
+        /**
+         * Sets the predicate deciding whether a failure counts against the dependency. It is tested
+         * with the failure translated the same way as by {@link Async#await(Callable)}, e.g.
+         * a {@link CompletionException} caused by a checked exception thrown by the block.
+         * Failures not matching the predicate are recorded as successful calls.
+         *
+         * @param recordFailure the predicate, matching any failure by default
+         * @return this builder
+         */
+        public Builder recordFailure(Predicate<? super Throwable> recordFailure) {
+            this.recordFailure = Objects.requireNonNull(recordFailure, "Predicate should not be null");
+            return this;
+        }
+
+        /**
+         * Creates a new {@link CircuitBreaker}.
+         *
+         * @return a new circuit breaker
+         */
+        public CircuitBreaker build() {
+            return new CircuitBreaker(this);
+        }
+
+        private static double requireRate(double rate, String name) {
+            if (!(rate > 0 && rate <= 1)) {
+                throw new IllegalArgumentException(name + " should be between 0 and 1: " + rate);
+            }
+            return rate;
+        }
+
+        private static Duration requirePositive(Duration duration, String name) {
+            Objects.requireNonNull(duration, name + " should not be null");
+            if (duration.isZero() || duration.isNegative()) {
+                throw new IllegalArgumentException(name + " should be positive: " + duration);
+            }
+            return duration;
+        }
+    }
+}
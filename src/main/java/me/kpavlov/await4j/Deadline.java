@@ -0,0 +1,173 @@
+package me.kpavlov.await4j;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Deadline scope limiting the total time of all awaits made within it, including nested ones.
+ * <p>
+ * Within {@link #within(Duration, Callable)}, every {@code await} waits at most for the remaining budget,
+ * even if it is called with a longer timeout or without one. The deadline is passed to blocks awaited
+ * within the scope, so awaits nested in them share the same budget. When the budget is spent,
+ * {@code await} fails with {@link CompletionException} caused by {@link java.util.concurrent.TimeoutException}
+ * right away, without starting a thread:
+ * </p>
+ * <pre>{@code
+ * final var page = Deadline.within(Duration.ofMillis(500), () -> {
+ *     final var user = Async.await(() -> loadUser(id), 1000); // waits at most 500 ms
+ *     return render(user, Async.await(() -> loadOrders(user))); // waits for the rest of the budget
+ * });
+ * }</pre>
+ * <p>
+ * Scopes can be nested: the inner scope never extends the deadline of the outer one.
+ * Blocks started with {@link Async#launch(ThrowingRunnable)} are not limited by the deadline.
+ * In caller-runs mode, blocks awaited within a scope are started on a new thread, so the deadline is enforced.
+ * </p>
+ * <p>
+ * The deadline is kept in a {@link ThreadLocal}, because {@code ScopedValue} is a preview API in Java 21.
+ * It is set only for the duration of the scope and of the awaited blocks.
+ * </p>
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Executes a block on the calling thread within a deadline scope.
+     * Failures are translated the same way as by {@link Async#await(Callable)}.
+     *
+     * @param <T>    The type of the result
+     * @param budget The total time budget of the awaits within the scope
+     * @param block  The block to execute
+     * @return The result of the block
+     * @throws CompletionException   if the block throws an exception, including timeouts of the awaits
+     * @throws Error                 if the block throws an Error
+     * @throws IllegalStateException if an unexpected throwable is encountered in the call result
+     */
+    @SuppressWarnings("java:S1181")
+    public static <T> T within(Duration budget, Callable<? extends T> block) {
+        Objects.requireNonNull(block, "Callable should not be null");
+        final var outer = enterScope(budget);
+        try {
+            return block.call();
+        } catch (Throwable e) {
+            throw Async.rethrow(Async.translateFailure(e));
+        } finally {
+            restore(outer);
+        }
+    }
+
+    /**
+     * Executes a block on the calling thread within a deadline scope, like {@link #within(Duration, Callable)},
+     * but for blocks which translate their failures themselves: failures are rethrown as is,
+     * so their suppressed exceptions are kept.
+     *
+     * @param <T>    The type of the result
+     * @param budget The total time budget of the awaits within the scope
+     * @param block  The block to execute, throwing translated failures only
+     * @return The result of the block
+     */
+    static <T> T withinTranslated(Duration budget, Supplier<? extends T> block) {
+        final var outer = enterScope(budget);
+        try {
+            return block.get();
+        } finally {
+            restore(outer);
+        }
+    }
+
+    private static Deadline enterScope(Duration budget) {
+        Objects.requireNonNull(budget, "Budget should not be null");
+        final var outer = CURRENT.get();
+        final long deadlineNanos = System.nanoTime() + budget.toNanos();
+        if (outer == null || outer.deadlineNanos - deadlineNanos >= 0) {
+            CURRENT.set(new Deadline(deadlineNanos));
+        }
+        return outer;
+    }
+
+    /**
+     * Returns the time remaining until the deadline of the current scope.
+     *
+     * @return the remaining time, negative if the deadline has passed, or empty outside a deadline scope
+     */
+    public static Optional<Duration> remaining() {
+        final var deadline = CURRENT.get();
+        return deadline == null ? Optional.empty() : Optional.of(Duration.ofNanos(deadline.remainingNanos()));
+    }
+
+    /**
+     * Returns the deadline of the current scope, to be passed to another thread.
+     *
+     * @return the current deadline, or {@code null} outside a deadline scope
+     */
+    static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Enters the scope of the deadline captured on another thread.
+     *
+     * @param deadline the deadline to enter, or {@code null}
+     * @return the deadline of the current thread, to be {@linkplain #restore(Deadline) restored} afterwards
+     */
+    static Deadline enter(Deadline deadline) {
+        final var previous = CURRENT.get();
+        if (deadline != previous) {
+            CURRENT.set(deadline);
+        }
+        return previous;
+    }
+
+    /**
+     * Restores the deadline of the current thread.
+     *
+     * @param previous the deadline returned by {@link #enter(Deadline)}
+     */
+    static void restore(Deadline previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Limits the timeout by the deadline of the current scope.
+     *
+     * @param millis the requested timeout in milliseconds, {@code 0} means to wait forever
+     * @return the timeout to use in milliseconds, {@code 0} means to wait forever,
+     * or {@code -1} if the deadline has passed already
+     * @throws IllegalArgumentException if the value of {@code millis} is negative
+     */
+    static long timeoutMillis(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("timeout value is negative");
+        }
+        final var deadline = CURRENT.get();
+        if (deadline == null) {
+            return millis;
+        }
+        final long remainingNanos = deadline.remainingNanos();
+        if (remainingNanos <= 0) {
+            return -1;
+        }
+        final long remainingMillis = TimeUnit.NANOSECONDS.toMillis(remainingNanos + TimeUnit.MILLISECONDS.toNanos(1) - 1);
+        return millis == 0 ? remainingMillis : Math.min(millis, remainingMillis);
+    }
+
+    private long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+}
@@ -0,0 +1,142 @@
+package me.kpavlov.await4j;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Lazy handle of a block, which starts its thread only when it is first awaited or {@linkplain #start() started}.
+ * <p>
+ * Created by {@link Async#defer(Callable)}. The block is executed at most once: all awaiters, concurrent
+ * or later ones, share the same execution and get the same outcome. A deferred block which is never
+ * awaited costs no thread at all, so optional work can be prepared up front and skipped on most code paths:
+ * </p>
+ * <pre>{@code
+ * final var recommendations = Async.defer(() -> loadRecommendations(userId));
+ * if (page.showsRecommendations()) {
+ *     model.put("recommendations", Async.await(recommendations));
+ * }
+ * }</pre>
+ * <p>
+ * Awaiting a deferred block with {@code await(Future)} parks the caller on the shared execution
+ * without starting another thread. Once the block has completed, its outcome is returned right away.
+ * </p>
+ *
+ * @param <T> the type of the result
+ */
+public final class Deferred<T> implements Future<T> {
+
+    private static final VarHandle FUTURE;
+
+    static {
+        try {
+            FUTURE = MethodHandles.lookup().findVarHandle(Deferred.class, "future", CompletableFuture.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Callable<? extends T> block;
+    private final Executor launcher;
+    private volatile CompletableFuture<T> future;
+
+    Deferred(Callable<? extends T> block, Executor launcher) {
+        this.block = block;
+        this.launcher = launcher;
+    }
+
+    /**
+     * Starts the block, unless it has been started or cancelled already.
+     * If the thread cannot be started, the shared execution fails with the launch failure,
+     * so later awaiters get it too instead of waiting forever.
+     *
+     * @return the future completed with the outcome of the shared execution
+     * @throws RejectedExecutionException if the thread cannot be started
+     */
+    public CompletableFuture<T> start() {
+        final CompletableFuture<T> current = future;
+        if (current != null) {
+            return current;
+        }
+        final var started = new AsyncFuture<T>(block);
+        final var witness = (CompletableFuture<T>) FUTURE.compareAndExchange(this, null, started);
+        if (witness != null) {
+            return witness; // started by another thread
+        }
+        try {
+            launcher.execute(started.task());
+        } catch (RuntimeException | Error e) {
+            started.completeExceptionally(e);
+            throw e;
+        }
+        return started;
+    }
+
+    /**
+     * Checks if the block has been started.
+     *
+     * @return {@code true} if the block has been started or cancelled
+     */
+    public boolean isStarted() {
+        return future != null;
+    }
+
+    /**
+     * Cancels the block. A block which has not been started yet is never started.
+     *
+     * @param mayInterruptIfRunning {@code true} to interrupt the thread running the block
+     * @return {@code true} if the block has been cancelled
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        final var cancelled = new CompletableFuture<T>();
+        cancelled.cancel(false);
+        final var witness = (CompletableFuture<T>) FUTURE.compareAndExchange(this, null, cancelled);
+        return witness == null || witness.cancel(mayInterruptIfRunning);
+    }
+
+    @Override
+    public boolean isCancelled() {
+        final CompletableFuture<T> current = future;
+        return current != null && current.isCancelled();
+    }
+
+    @Override
+    public boolean isDone() {
+        final CompletableFuture<T> current = future;
+        return current != null && current.isDone();
+    }
+
+    /**
+     * Starts the block if needed and waits for its result.
+     *
+     * @return the result of the block
+     */
+    @Override
+    public T get() throws InterruptedException, ExecutionException {
+        return start().get();
+    }
+
+    /**
+     * Starts the block if needed and waits for its result at most for the given time.
+     *
+     * @return the result of the block
+     */
+    @Override
+    public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        return start().get(timeout, unit);
+    }
+
+    @Override
+    public String toString() {
+        final CompletableFuture<T> current = future;
+        return "Deferred{" + (current == null ? "not started" : current) + '}';
+    }
+}
@@ -0,0 +1,114 @@
+package me.kpavlov.await4j;
+
+import java.util.Objects;
+
+/**
+ * Specialization of {@link Result} for {@code double} values, which holds the value without boxing.
+ *
+ * @see Result
+ */
+public sealed interface DoubleResult extends PrimitiveResult permits DoubleResult.Success, DoubleResult.Failure {
+
+    /**
+     * Creates a result representing success with the specified value.
+     *
+     * @param value the value representing success
+     * @return a result representing success
+     */
+    static DoubleResult success(double value) {
+        return new Success(value);
+    }
+
+    /**
+     * Creates a result representing a failure with the specified throwable.
+     *
+     * @param throwable the throwable indicating failure
+     * @return a result representing failure
+     */
+    static DoubleResult failure(Throwable throwable) {
+        return new Failure(throwable);
+    }
+
+    /**
+     * Returns the success value, or throws an exception if failed.
+     *
+     * @return the value representing success
+     * @throws IllegalStateException if this instance represents failure
+     */
+    double getOrThrow();
+
+    /**
+     * Returns the success value, or a default value if failed.
+     *
+     * @param defaultValue the default value to return if failed
+     * @return the value representing success, or the default value if failed
+     */
+    default double getOrDefault(double defaultValue) {
+        return isSuccess() ? getOrThrow() : defaultValue;
+    }
+
+    /**
+     * Converts this result to a generic {@link Result}, boxing the value.
+     *
+     * @return the equivalent generic result
+     */
+    default Result<Double> boxed() {
+        return isSuccess() ? Result.success(getOrThrow()) : Result.failure(failure());
+    }
+
+    /**
+     * Successful result.
+     *
+     * @param value the value representing success
+     */
+    record Success(double value) implements DoubleResult {
+
+        @Override
+        public Throwable failure() {
+            return null;
+        }
+
+        @Override
+        public double getOrThrow() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return "DoubleResult{" + value + '}';
+        }
+    }
+
+    /**
+     * Failed result.
+     *
+     * @param throwable the throwable indicating failure
+     */
+    record Failure(Throwable throwable) implements DoubleResult {
+
+        /**
+         * Creates a failed result.
+         *
+         * @param throwable the throwable indicating failure
+         * @throws NullPointerException if the throwable is {@code null}
+         */
+        public Failure {
+            Objects.requireNonNull(throwable, "Throwable should not be null");
+        }
+
+        @Override
+        public Throwable failure() {
+            return throwable;
+        }
+
+        @Override
+        public double getOrThrow() {
+            throw PrimitiveResult.failureException(throwable);
+        }
+
+        @Override
+        public String toString() {
+            return "DoubleResult{throwable=" + throwable + '}';
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package me.kpavlov.await4j;
+
+import java.io.Serial;
+import java.util.Locale;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Defines how checked exceptions thrown by blocks are wrapped before they are rethrown to the waiting thread.
+ * <p>
+ * The default mode is selected once per JVM by the system property {@value Async#EXCEPTION_WRAPPING_PROPERTY},
+ * e.g. {@code -Dme.kpavlov.await4j.exceptionWrapping=STACKLESS}, and an {@link Awaiter} can use another one,
+ * see {@link Awaiter.Builder#exceptionWrapping(ExceptionWrapping)}. The stack trace of a wrapper
+ * only points into library internals, while the original exception is always kept as its cause,
+ * so at high error rates filling it in is pure overhead.
+ * </p>
+ */
+public enum ExceptionWrapping {
+
+    /**
+     * Wraps checked exceptions into {@link CompletionException} with a stack trace. This is the default.
+     */
+    STACK_TRACE,
+
+    /**
+     * Wraps checked exceptions into {@link CompletionException} without filling in a stack trace.
+     * Wrappers are still instances of {@code CompletionException}, so existing handlers keep working.
+     */
+    STACKLESS,
+
+    /**
+     * Does not wrap checked exceptions: they are rethrown as is, although methods do not declare them.
+     * Callers have to catch {@link Exception} to handle them.
+     */
+    NONE;
+
+    /**
+     * The default mode configured for this JVM.
+     */
+    static final ExceptionWrapping CURRENT = of(System.getProperty(Async.EXCEPTION_WRAPPING_PROPERTY));
+
+    /**
+     * Parses the value of the system property {@value Async#EXCEPTION_WRAPPING_PROPERTY}, ignoring case.
+     * A missing or unknown value falls back to {@link #STACK_TRACE}, so a typo in the property
+     * does not break the initialization of the library.
+     *
+     * @param value the value of the property, may be {@code null}
+     * @return the mode
+     */
+    static ExceptionWrapping of(String value) {
+        if (value == null) {
+            return STACK_TRACE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return STACK_TRACE;
+        }
+    }
+
+    /**
+     * Wraps a failure according to this mode.
+     *
+     * @param message the message of the wrapper, or {@code null} to use the string representation of the cause
+     * @param cause   the failure to wrap
+     * @return the wrapper, or the cause itself in {@link #NONE} mode
+     */
+    Throwable wrap(String message, Throwable cause) {
+        return switch (this) {
+            case STACK_TRACE -> new CompletionException(messageOf(message, cause), cause);
+            case STACKLESS -> new StacklessCompletionException(messageOf(message, cause), cause);
+            case NONE -> cause;
+        };
+    }
+
+    private static String messageOf(String message, Throwable cause) {
+        return message != null ? message : String.valueOf(cause);
+    }
+
+    /**
+     * {@link CompletionException} which does not fill in its stack trace.
+     */
+    static final class StacklessCompletionException extends CompletionException {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        StacklessCompletionException(String message, Throwable cause) {
+            super(message, cause);
+        }
+
+        @Override
+        public Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
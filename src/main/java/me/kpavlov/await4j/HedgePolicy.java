@@ -0,0 +1,269 @@
+package me.kpavlov.await4j;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Policy of hedged awaits, see {@link Async#awaitHedged(Callable, HedgePolicy)}: when the first attempt
+ * of a block has not completed within the hedge delay, a backup attempt is started on another thread,
+ * and the first successful attempt wins.
+ * <p>
+ * The delay is either fixed or follows a {@linkplain Builder#percentile(double) percentile} of the latencies
+ * observed by the policy, e.g. hedging only the calls slower than the observed p95.
+ * To keep hedging from doubling the load when a dependency slows down as a whole, backup attempts are
+ * throttled: each call earns {@linkplain Builder#maxHedgeRatio(double) a fraction} of a hedge token,
+ * each backup attempt spends a whole one, and at most {@linkplain Builder#maxHedgeBurst(int) a few tokens}
+ * are saved up.
+ * </p>
+ * <pre>{@code
+ * private static final HedgePolicy HEDGE = HedgePolicy.builder()
+ *     .delay(Duration.ofMillis(50)) // until enough latencies are observed
+ *     .percentile(0.95)
+ *     .maxHedgeRatio(0.05)
+ *     .build();
+ * ...
+ * final var user = Async.awaitHedged(() -> loadUser(id), HEDGE);
+ * }</pre>
+ * <p>
+ * Only idempotent blocks should be hedged, because both attempts may complete.
+ * A policy is stateful and thread-safe: share one instance per dependency.
+ * </p>
+ */
+public final class HedgePolicy {
+
+    private static final long TOKEN = 1000;
+
+    private final long delayNanos;
+    private final double percentile;
+    private final AtomicLongArray latencies;
+    private final AtomicLong recorded = new AtomicLong();
+    private final long tokensPerCall;
+    private final long maxTokens;
+    private final AtomicLong tokens;
+    private final LongAdder hedges = new LongAdder();
+    private volatile long thresholdNanos;
+
+    private HedgePolicy(Builder builder) {
+        this.delayNanos = builder.delay.toNanos();
+        this.percentile = builder.percentile;
+        this.latencies = percentile > 0 ? new AtomicLongArray(builder.window) : null;
+        this.tokensPerCall = Math.round(builder.maxHedgeRatio * TOKEN);
+        this.maxTokens = builder.maxHedgeBurst * TOKEN;
+        this.tokens = new AtomicLong(maxTokens);
+        this.thresholdNanos = delayNanos;
+    }
+
+    /**
+     * Creates a new builder with default settings: a fixed delay of 100 ms, at most one backup attempt
+     * per ten calls, saving up to ten backup attempts.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the current hedge delay: the configured delay, or the observed percentile of latencies
+     * once the window of latencies has been filled.
+     *
+     * @return the time after which a backup attempt is started
+     */
+    public Duration delay() {
+        return Duration.ofNanos(thresholdNanos);
+    }
+
+    /**
+     * Returns the number of backup attempts started with this policy.
+     *
+     * @return the number of hedged calls
+     */
+    public long hedgeCount() {
+        return hedges.sum();
+    }
+
+    /**
+     * Registers a call and returns the hedge delay for it.
+     *
+     * @return the hedge delay in nanoseconds
+     */
+    long startCall() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current >= maxTokens) {
+                break;
+            }
+        } while (!tokens.compareAndSet(current, Math.min(maxTokens, current + tokensPerCall)));
+        return thresholdNanos;
+    }
+
+    /**
+     * Takes a hedge token if the hedge rate allows starting a backup attempt.
+     *
+     * @return {@code true} if a backup attempt may be started
+     */
+    boolean tryHedge() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - TOKEN));
+        hedges.increment();
+        return true;
+    }
+
+    /**
+     * Records the latency of a call won by its first attempt. The percentile is recalculated each time
+     * the window of latencies is filled again, so the cost of sorting is amortized over the window.
+     *
+     * @param latencyNanos the latency of the first attempt in nanoseconds
+     */
+    void record(long latencyNanos) {
+        if (latencies == null) {
+            return;
+        }
+        final int window = latencies.length();
+        final long index = recorded.getAndIncrement();
+        latencies.set((int) (index % window), latencyNanos);
+        if ((index + 1) % window == 0) {
+            final long[] sorted = new long[window];
+            for (int i = 0; i < window; i++) {
+                sorted[i] = latencies.get(i);
+            }
+            Arrays.sort(sorted);
+            thresholdNanos = sorted[(int) Math.min(window - 1, Math.ceil(percentile * window) - 1)];
+        }
+    }
+
+    /**
+     * Records a call won by its backup attempt. The latency of the cancelled first attempt is unknown,
+     * but it is at least the elapsed time and the hedge delay, so that lower bound is recorded.
+     * Leaving such calls out would keep only the fast calls in the window and shrink the delay
+     * under a stable slow tail.
+     *
+     * @param elapsedNanos the time from the start of the call to the backup result in nanoseconds
+     */
+    void recordCensored(long elapsedNanos) {
+        record(Math.max(elapsedNanos, thresholdNanos));
+    }
+
+    @Override
+    public String toString() {
+        return "HedgePolicy{delay=" + delay() +
+            (percentile > 0 ? ", percentile=" + percentile : "") +
+            ", maxHedgeRatio=" + (double) tokensPerCall / TOKEN +
+            ", maxHedgeBurst=" + maxTokens / TOKEN + '}';
+    }
+
+    /**
+     * Builder of {@link HedgePolicy} instances.
+     */
+    public static final class Builder {
+
+        private Duration delay = Duration.ofMillis(100);
+        private double percentile;
+        private int window = 100;
+        private double maxHedgeRatio = 0.1;
+        private int maxHedgeBurst = 10;
+
+        private Builder() {
+            // use HedgePolicy.builder()
+        }
+
+        /**
+         * Sets the fixed hedge delay. With a {@linkplain #percentile(double) percentile}, it is used
+         * until the first window of latencies has been observed.
+         *
+         * @param delay the hedge delay, 100 ms by default
+         * @return this builder
+         * @throws IllegalArgumentException if the delay is negative
+         */
+        public Builder delay(Duration delay) {
+            Objects.requireNonNull(delay, "Delay should not be null");
+            if (delay.isNegative()) {
+                throw new IllegalArgumentException("delay should not be negative: " + delay);
+            }
+            this.delay = delay;
+            return this;
+        }
+
+        /**
+         * Makes the hedge delay follow the percentile of the latencies of successful calls.
+         * For calls won by the backup attempt, the latency of the cancelled first attempt is unknown,
+         * so its lower bound is observed: the elapsed time, and at least the current hedge delay.
+         *
+         * @param percentile the percentile between {@code 0} and {@code 1} exclusive, e.g. {@code 0.95}
+         * @return this builder
+         * @throws IllegalArgumentException if the percentile is out of range
+         */
+        public Builder percentile(double percentile) {
+            if (!(percentile > 0 && percentile < 1)) {
+                throw new IllegalArgumentException("percentile should be between 0 and 1: " + percentile);
+            }
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * Sets the number of latencies the percentile is calculated over.
+         *
+         * @param window the number of latencies, {@code 100} by default
+         * @return this builder
+         * @throws IllegalArgumentException if the window is not positive
+         */
+        public Builder window(int window) {
+            if (window <= 0) {
+                throw new IllegalArgumentException("window should be positive: " + window);
+            }
+            this.window = window;
+            return this;
+        }
+
+        /**
+         * Sets the maximum long-run ratio of backup attempts to calls.
+         *
+         * @param maxHedgeRatio the ratio between {@code 0} and {@code 1}, {@code 0.1} by default
+         * @return this builder
+         * @throws IllegalArgumentException if the ratio is out of range
+         */
+        public Builder maxHedgeRatio(double maxHedgeRatio) {
+            if (!(maxHedgeRatio >= 0 && maxHedgeRatio <= 1)) {
+                throw new IllegalArgumentException("maxHedgeRatio should be between 0 and 1: " + maxHedgeRatio);
+            }
+            this.maxHedgeRatio = maxHedgeRatio;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of backup attempts which can be saved up while calls are fast.
+         *
+         * @param maxHedgeBurst the maximum burst of backup attempts, {@code 10} by default
+         * @return this builder
+         * @throws IllegalArgumentException if the burst is negative
+         */
+        public Builder maxHedgeBurst(int maxHedgeBurst) {
+            if (maxHedgeBurst < 0) {
+                throw new IllegalArgumentException("maxHedgeBurst should not be negative: " + maxHedgeBurst);
+            }
+            this.maxHedgeBurst = maxHedgeBurst;
+            return this;
+        }
+
+        /**
+         * Creates a new {@link HedgePolicy}.
+         *
+         * @return a new hedge policy
+         */
+        public HedgePolicy build() {
+            return new HedgePolicy(this);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package me.kpavlov.await4j;
+
+import java.util.Objects;
+
+/**
+ * Specialization of {@link Result} for {@code int} values, which holds the value without boxing.
+ *
+ * @see Result
+ */
+public sealed interface IntResult extends PrimitiveResult permits IntResult.Success, IntResult.Failure {
+
+    /**
+     * Creates a result representing success with the specified value.
+     *
+     * @param value the value representing success
+     * @return a result representing success
+     */
+    static IntResult success(int value) {
+        return new Success(value);
+    }
+
+    /**
+     * Creates a result representing a failure with the specified throwable.
+     *
+     * @param throwable the throwable indicating failure
+     * @return a result representing failure
+     */
+    static IntResult failure(Throwable throwable) {
+        return new Failure(throwable);
+    }
+
+    /**
+     * Returns the success value, or throws an exception if failed.
+     *
+     * @return the value representing success
+     * @throws IllegalStateException if this instance represents failure
+     */
+    int getOrThrow();
+
+    /**
+     * Returns the success value, or a default value if failed.
+     *
+     * @param defaultValue the default value to return if failed
+     * @return the value representing success, or the default value if failed
+     */
+    default int getOrDefault(int defaultValue) {
+        return isSuccess() ? getOrThrow() : defaultValue;
+    }
+
+    /**
+     * Converts this result to a generic {@link Result}, boxing the value.
+     *
+     * @return the equivalent generic result
+     */
+    default Result<Integer> boxed() {
+        return isSuccess() ? Result.success(getOrThrow()) : Result.failure(failure());
+    }
+
+    /**
+     * Successful result.
+     *
+     * @param value the value representing success
+     */
+    record Success(int value) implements IntResult {
+
+        @Override
+        public Throwable failure() {
+            return null;
+        }
+
+        @Override
+        public int getOrThrow() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return "IntResult{" + value + '}';
+        }
+    }
+
+    /**
+     * Failed result.
+     *
+     * @param throwable the throwable indicating failure
+     */
+    record Failure(Throwable throwable) implements IntResult {
+
+        /**
+         * Creates a failed result.
+         *
+         * @param throwable the throwable indicating failure
+         * @throws NullPointerException if the throwable is {@code null}
+         */
+        public Failure {
+            Objects.requireNonNull(throwable, "Throwable should not be null");
+        }
+
+        @Override
+        public Throwable failure() {
+            return throwable;
+        }
+
+        @Override
+        public int getOrThrow() {
+            throw PrimitiveResult.failureException(throwable);
+        }
+
+        @Override
+        public String toString() {
+            return "IntResult{throwable=" + throwable + '}';
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package me.kpavlov.await4j;
+
+/**
+ * Handles failures of blocks started with {@link Awaiter#launch(ThrowingRunnable)}, which have no caller
+ * to rethrow them to. Implementations are invoked on the thread which has run the failed block,
+ * so they should not block for long.
+ * <p>
+ * Configure a handler with {@link Awaiter.Builder#launchErrorHandler(LaunchErrorHandler)}, e.g. to log
+ * failures or to count them in metrics. By default, failures are passed to the
+ * {@linkplain Thread#getUncaughtExceptionHandler() uncaught exception handler} of the thread.
+ * </p>
+ */
+@FunctionalInterface
+public interface LaunchErrorHandler {
+
+    /**
+     * Handler passing failures to the uncaught exception handler of the current thread,
+     * the same way as if the block was started with {@link Thread#start()}.
+     */
+    LaunchErrorHandler UNCAUGHT = failure -> {
+        final var thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, failure);
+    };
+
+    /**
+     * Handles a failure of a launched block.
+     *
+     * @param failure the exception or error thrown by the block, as is
+     */
+    void handle(Throwable failure);
+}
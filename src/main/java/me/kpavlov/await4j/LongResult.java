@@ -0,0 +1,114 @@
+package me.kpavlov.await4j;
+
+import java.util.Objects;
+
+/**
+ * Specialization of {@link Result} for {@code long} values, which holds the value without boxing.
+ *
+ * @see Result
+ */
+public sealed interface LongResult extends PrimitiveResult permits LongResult.Success, LongResult.Failure {
+
+    /**
+     * Creates a result representing success with the specified value.
+     *
+     * @param value the value representing success
+     * @return a result representing success
+     */
+    static LongResult success(long value) {
+        return new Success(value);
+    }
+
+    /**
+     * Creates a result representing a failure with the specified throwable.
+     *
+     * @param throwable the throwable indicating failure
+     * @return a result representing failure
+     */
+    static LongResult failure(Throwable throwable) {
+        return new Failure(throwable);
+    }
+
+    /**
+     * Returns the success value, or throws an exception if failed.
+     *
+     * @return the value representing success
+     * @throws IllegalStateException if this instance represents failure
+     */
+    long getOrThrow();
+
+    /**
+     * Returns the success value, or a default value if failed.
+     *
+     * @param defaultValue the default value to return if failed
+     * @return the value representing success, or the default value if failed
+     */
+    default long getOrDefault(long defaultValue) {
+        return isSuccess() ? getOrThrow() : defaultValue;
+    }
+
+    /**
+     * Converts this result to a generic {@link Result}, boxing the value.
+     *
+     * @return the equivalent generic result
+     */
+    default Result<Long> boxed() {
+        return isSuccess() ? Result.success(getOrThrow()) : Result.failure(failure());
+    }
+
+    /**
+     * Successful result.
+     *
+     * @param value the value representing success
+     */
+    record Success(long value) implements LongResult {
+
+        @Override
+        public Throwable failure() {
+            return null;
+        }
+
+        @Override
+        public long getOrThrow() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return "LongResult{" + value + '}';
+        }
+    }
+
+    /**
+     * Failed result.
+     *
+     * @param throwable the throwable indicating failure
+     */
+    record Failure(Throwable throwable) implements LongResult {
+
+        /**
+         * Creates a failed result.
+         *
+         * @param throwable the throwable indicating failure
+         * @throws NullPointerException if the throwable is {@code null}
+         */
+        public Failure {
+            Objects.requireNonNull(throwable, "Throwable should not be null");
+        }
+
+        @Override
+        public Throwable failure() {
+            return throwable;
+        }
+
+        @Override
+        public long getOrThrow() {
+            throw PrimitiveResult.failureException(throwable);
+        }
+
+        @Override
+        public String toString() {
+            return "LongResult{throwable=" + throwable + '}';
+        }
+    }
+}
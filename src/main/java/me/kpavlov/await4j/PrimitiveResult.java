@@ -0,0 +1,47 @@
+package me.kpavlov.await4j;
+
+/**
+ * Members of the primitive specializations of {@link Result} which do not depend on the type of the value.
+ * A primitive result is successful when it has no {@linkplain #failure() failure}.
+ *
+ * @see IntResult
+ * @see LongResult
+ * @see DoubleResult
+ */
+sealed interface PrimitiveResult permits IntResult, LongResult, DoubleResult {
+
+    /**
+     * Checks if this instance represents a successful outcome.
+     *
+     * @return {@code true} if successful, otherwise {@code false}
+     */
+    default boolean isSuccess() {
+        return failure() == null;
+    }
+
+    /**
+     * Checks if this instance represents a failed outcome.
+     *
+     * @return {@code true} if failed, otherwise {@code false}
+     */
+    default boolean isFailure() {
+        return failure() != null;
+    }
+
+    /**
+     * Returns the failure throwable, if any.
+     *
+     * @return the throwable indicating failure, or {@code null} if success
+     */
+    Throwable failure();
+
+    /**
+     * Creates the exception thrown when the value of a failed result is requested.
+     *
+     * @param throwable the throwable indicating failure
+     * @return the exception to throw
+     */
+    static IllegalStateException failureException(Throwable throwable) {
+        return new IllegalStateException("Failure result", throwable);
+    }
+}
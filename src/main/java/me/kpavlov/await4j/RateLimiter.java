@@ -0,0 +1,313 @@
+package me.kpavlov.await4j;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Token-bucket rate limiter for calls to rate-limited dependencies, such as third-party APIs with QPS quotas,
+ * see {@link Async#await(Callable, RateLimiter)}.
+ * <p>
+ * Permits are issued at the configured rate. While the limiter is idle, unused permits are stored up to
+ * the {@linkplain Builder#burst(int) burst capacity} and are handed out right away afterwards.
+ * With {@linkplain Builder#warmUp(Duration) warm-up}, stored permits are handed out slowly instead:
+ * after an idle period the rate starts three times lower and reaches the configured rate
+ * once the warm-up period worth of permits has been used, which suits dependencies with cold caches.
+ * </p>
+ * <pre>{@code
+ * private static final RateLimiter GEOCODER_QUOTA = RateLimiter.builder(50) // permits per second
+ *     .burst(10)
+ *     .build();
+ * ...
+ * final var location = Async.await(() -> geocode(address), GEOCODER_QUOTA);
+ * }</pre>
+ * <p>
+ * Each caller reserves its permits with a single compare-and-set of the bucket state, then parks
+ * until the reserved permits become available, so waiting virtual threads are unmounted from their carriers
+ * instead of spinning. Waiting is limited by the {@linkplain Deadline deadline} of the current scope:
+ * permits which would be available only after the deadline are not reserved.
+ * Permits reserved by a thread interrupted while waiting for them are lost.
+ * A rate limiter is thread-safe: share one instance per quota.
+ * </p>
+ */
+public final class RateLimiter {
+
+    private static final double COLD_FACTOR = 3;
+
+    private final double permitsPerSecond;
+    private final double stableIntervalNanos;
+    private final double maxPermits;
+    private final double refillIntervalNanos;
+    private final double thresholdPermits;
+    private final double slope;
+    private final AtomicReference<Bucket> bucket;
+
+    private RateLimiter(Builder builder) {
+        this.permitsPerSecond = builder.permitsPerSecond;
+        this.stableIntervalNanos = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        final double warmUpNanos = builder.warmUp.toNanos();
+        if (warmUpNanos > 0) {
+            final double coldIntervalNanos = stableIntervalNanos * COLD_FACTOR;
+            this.thresholdPermits = 0.5 * warmUpNanos / stableIntervalNanos;
+            this.maxPermits = thresholdPermits + 2 * warmUpNanos / (stableIntervalNanos + coldIntervalNanos);
+            this.slope = (coldIntervalNanos - stableIntervalNanos) / (maxPermits - thresholdPermits);
+            this.refillIntervalNanos = warmUpNanos / maxPermits;
+        } else {
+            this.thresholdPermits = Double.MAX_VALUE;
+            this.maxPermits = builder.burst;
+            this.slope = 0;
+            this.refillIntervalNanos = stableIntervalNanos;
+        }
+        this.bucket = new AtomicReference<>(new Bucket(maxPermits, System.nanoTime()));
+    }
+
+    /**
+     * Creates a new builder of a rate limiter issuing permits at the given rate,
+     * without burst capacity beyond a single permit and without warm-up.
+     *
+     * @param permitsPerSecond the rate of permits, greater than {@code 0} and at most {@code 1e9}
+     *                         (a permit per nanosecond)
+     * @return a new builder
+     * @throws IllegalArgumentException if the rate is not in the range {@code (0, 1e9]}
+     */
+    public static Builder builder(double permitsPerSecond) {
+        return new Builder(permitsPerSecond);
+    }
+
+    /**
+     * Acquires a permit, parking the current thread until it is available.
+     *
+     * @throws CompletionException if the thread is interrupted or the permit would be available
+     *                             only after the {@linkplain Deadline deadline} of the current scope
+     */
+    public void acquire() {
+        acquire(1);
+    }
+
+    /**
+     * Acquires permits, parking the current thread until they are available.
+     *
+     * @param permits the number of permits
+     * @throws CompletionException      if the thread is interrupted or the permits would be available
+     *                                  only after the {@linkplain Deadline deadline} of the current scope
+     * @throws IllegalArgumentException if the number of permits is not positive
+     */
+    public void acquire(int permits) {
+        final long waitNanos = reserve(permits, Long.MAX_VALUE);
+        if (waitNanos < 0) {
+            throw Async.deadlineExceededException();
+        }
+        park(waitNanos);
+    }
+
+    /**
+     * Acquires a permit if it is available right away.
+     *
+     * @return {@code true} if the permit is acquired
+     */
+    public boolean tryAcquire() {
+        return tryAcquire(1, Duration.ZERO);
+    }
+
+    /**
+     * Acquires permits if they become available within the timeout, parking the current thread until then.
+     * No permits are reserved if they would not be available in time.
+     *
+     * @param permits the number of permits
+     * @param timeout the maximum time to wait
+     * @return {@code true} if the permits are acquired, {@code false} if they would not be available in time
+     * @throws CompletionException      if the thread is interrupted
+     * @throws IllegalArgumentException if the number of permits is not positive
+     */
+    public boolean tryAcquire(int permits, Duration timeout) {
+        final long waitNanos = reserve(permits, Math.max(0, timeout.toNanos()));
+        if (waitNanos < 0) {
+            return false;
+        }
+        park(waitNanos);
+        return true;
+    }
+
+    /**
+     * Returns a callable calling the block once a permit is acquired.
+     * The decorated callable can be passed to any {@code await} method, so the permit is waited for
+     * on the thread started for the block.
+     *
+     * @param <T>   the type of the result
+     * @param block the block to limit
+     * @return the rate-limited callable
+     */
+    public <T> Callable<T> decorate(Callable<T> block) {
+        Objects.requireNonNull(block, "Callable should not be null");
+        return () -> {
+            acquire();
+            return block.call();
+        };
+    }
+
+    /**
+     * Returns a runnable running the block once a permit is acquired.
+     * The decorated runnable can be passed to any {@code await} method.
+     *
+     * @param block the block to limit
+     * @return the rate-limited runnable
+     */
+    public ThrowingRunnable decorate(ThrowingRunnable block) {
+        Objects.requireNonNull(block, "Block should not be null");
+        return () -> {
+            acquire();
+            block.run();
+        };
+    }
+
+    /**
+     * Reserves permits, unless they would be available only after the maximum wait time
+     * or the deadline of the current scope.
+     *
+     * @param permits      the number of permits
+     * @param maxWaitNanos the maximum time to wait in nanoseconds
+     * @return the time to wait for the reserved permits in nanoseconds, or {@code -1} if no permits are reserved
+     */
+    private long reserve(int permits, long maxWaitNanos) {
+        if (permits <= 0) {
+            throw new IllegalArgumentException("permits should be positive: " + permits);
+        }
+        final long maxWait = Deadline.remaining()
+            .map(remaining -> Math.min(maxWaitNanos, remaining.toNanos()))
+            .orElse(maxWaitNanos);
+        while (true) {
+            final Bucket current = bucket.get();
+            final long now = System.nanoTime();
+            double stored = current.storedPermits;
+            long nextFree = current.nextFreeNanos;
+            if (now - nextFree > 0) {
+                stored = Math.min(maxPermits, stored + (now - nextFree) / refillIntervalNanos);
+                nextFree = now;
+            }
+            final double spent = Math.min(permits, stored);
+            final long next = nextFree + (long) (storedPermitsNanos(stored, spent) + (permits - spent) * stableIntervalNanos);
+            final long waitNanos = Math.max(0, next - now);
+            if (waitNanos > maxWait) {
+                return -1;
+            }
+            if (bucket.compareAndSet(current, new Bucket(stored - spent, next))) {
+                return waitNanos;
+            }
+        }
+    }
+
+    /**
+     * Returns the time it takes to hand out stored permits: nothing for burst capacity,
+     * from the cold to the stable interval for permits stored above the warm-up threshold.
+     */
+    private double storedPermitsNanos(double stored, double spent) {
+        final double aboveThreshold = stored - thresholdPermits;
+        if (aboveThreshold <= 0) {
+            return slope == 0 ? 0 : spent * stableIntervalNanos;
+        }
+        final double spentAbove = Math.min(aboveThreshold, spent);
+        final double nanosAbove = spentAbove
+            * (intervalNanos(aboveThreshold) + intervalNanos(aboveThreshold - spentAbove)) / 2;
+        return nanosAbove + (spent - spentAbove) * stableIntervalNanos;
+    }
+
+    private double intervalNanos(double permitsAboveThreshold) {
+        return stableIntervalNanos + permitsAboveThreshold * slope;
+    }
+
+    /**
+     * Parks the current thread until the reserved permits become available.
+     * Permits reserved by an interrupted thread are not returned to the limiter:
+     * later callers have already been scheduled after them, so the rate is never exceeded.
+     */
+    private void park(long waitNanos) {
+        final long deadline = System.nanoTime() + waitNanos;
+        long remaining = waitNanos;
+        while (remaining > 0) {
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.interrupted()) {
+                throw Async.rethrow(Async.translateFailure(new InterruptedException()));
+            }
+            remaining = deadline - System.nanoTime();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimiter{permitsPerSecond=" + permitsPerSecond +
+            ", storedPermits=" + bucket.get().storedPermits + '/' + maxPermits + '}';
+    }
+
+    /**
+     * Immutable state of the bucket, replaced by compare-and-set.
+     *
+     * @param storedPermits the permits stored while the limiter has been idle
+     * @param nextFreeNanos the time the next fresh permit is available in terms of {@link System#nanoTime()}
+     */
+    private record Bucket(double storedPermits, long nextFreeNanos) {
+    }
+
+    /**
+     * Builder of {@link RateLimiter} instances.
+     */
+    public static final class Builder {
+
+        private final double permitsPerSecond;
+        private int burst = 1;
+        private Duration warmUp = Duration.ZERO;
+
+        private Builder(double permitsPerSecond) {
+            if (!(permitsPerSecond > 0 && permitsPerSecond <= TimeUnit.SECONDS.toNanos(1))) {
+                throw new IllegalArgumentException(
+                    "permitsPerSecond should be in range (0, 1e9]: " + permitsPerSecond);
+            }
+            this.permitsPerSecond = permitsPerSecond;
+        }
+
+        /**
+         * Sets the maximum number of permits stored while the limiter is idle and handed out right away.
+         * The bucket is full when the limiter is created. Ignored with {@linkplain #warmUp(Duration) warm-up}.
+         *
+         * @param burst the burst capacity, {@code 1} by default
+         * @return this builder
+         * @throws IllegalArgumentException if the capacity is not positive
+         */
+        public Builder burst(int burst) {
+            if (burst <= 0) {
+                throw new IllegalArgumentException("burst should be positive: " + burst);
+            }
+            this.burst = burst;
+            return this;
+        }
+
+        /**
+         * Sets the period over which the rate grows from a third of the configured rate to the full rate
+         * after the limiter has been idle. The limiter is cold when created.
+         *
+         * @param warmUp the warm-up period, zero by default, which disables warm-up
+         * @return this builder
+         * @throws IllegalArgumentException if the period is negative
+         */
+        public Builder warmUp(Duration warmUp) {
+            Objects.requireNonNull(warmUp, "warmUp should not be null");
+            if (warmUp.isNegative()) {
+                throw new IllegalArgumentException("warmUp should not be negative: " + warmUp);
+            }
+            this.warmUp = warmUp;
+            return this;
+        }
+
+        /**
+         * Creates a new {@link RateLimiter}.
+         *
+         * @return a new rate limiter
+         */
+        public RateLimiter build() {
+            return new RateLimiter(this);
+        }
+    }
+}
@@ -1,33 +1,31 @@
 package me.kpavlov.await4j;
 
+import java.util.Objects;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 
 /**
  * Represents the result of an operation that can either succeed with a value or fail with a throwable.
  * <p>
- * This class provides methods to create instances of success or failure and to manipulate these results
- * through mapping functions. It allows checking whether the result is successful or failed, and provides
- * access to the success value or failure throwable.
+ * A result is either a {@link Success} or a {@link Failure}, so it can be handled with a pattern-matching
+ * {@code switch}:
+ * </p>
+ * <pre>{@code
+ * final String message = switch (result) {
+ *     case Result.Success<User>(var user) -> "Found " + user;
+ *     case Result.Failure<User>(var throwable) -> "Not found: " + throwable.getMessage();
+ * };
+ * }</pre>
+ * <p>
+ * Combinators, such as {@link #map(Function)}, {@link #flatMap(Function)}, {@link #recover(Function)}
+ * and {@link #fold(Function, Function)}, never throw because of the variant they are called on:
+ * they apply the function to their own variant and pass the other variant through,
+ * so results can be chained without branching first.
  * </p>
  *
  * @param <T> the type of the value in case of success
  */
-public class Result<T> {
-
-    private final Throwable throwable;
-    private final T value;
-
-    /**
-     * Private constructor to create a Result instance.
-     *
-     * @param throwable the throwable indicating failure, or {@code null} for success
-     * @param value     the value representing success, or {@code null} if there's a throwable
-     */
-    private Result(Throwable throwable, T value) {
-        this.throwable = throwable;
-        this.value = value;
-    }
+public sealed interface Result<T> permits Result.Success, Result.Failure {
 
     /**
      * Creates a Result instance representing a failure with the specified throwable.
@@ -36,19 +34,21 @@ public class Result<T> {
      * @param <T>       irrelevant type parameter (can be omitted)
      * @return a Result instance representing failure with the specified throwable
      */
-    public static <T> Result<T> failure(Throwable throwable) {
-        return new Result<>(throwable, null);
+    static <T> Result<T> failure(Throwable throwable) {
+        return new Failure<>(throwable);
     }
 
     /**
      * Creates a Result instance representing success with the specified value.
+     * Successful results with {@code null} value share the same instance.
      *
      * @param value the value representing success
      * @param <T>   the type of the value
      * @return a Result instance representing success with the specified value
      */
-    public static <T> Result<T> success(T value) {
-        return new Result<>(null, value);
+    @SuppressWarnings("unchecked")
+    static <T> Result<T> success(T value) {
+        return value == null ? (Result<T>) Success.NULL : new Success<>(value);
     }
 
     /**
@@ -56,66 +56,74 @@ public class Result<T> {
      *
      * @return {@code true} if successful, otherwise {@code false}
      */
-    public boolean isSuccess() {
-        return throwable == null;
-    }
+    boolean isSuccess();
 
     /**
      * Checks if this instance represents a failed outcome.
      *
      * @return {@code true} if failed, otherwise {@code false}
      */
-    public boolean isFailure() {
-        return throwable != null;
+    default boolean isFailure() {
+        return !isSuccess();
     }
 
     /**
-     * Maps the success value using the provided function.
+     * Maps the success value using the provided function. A failure is returned as is.
      *
      * @param <R>      the type of the mapped result
      * @param function the mapping function for success value
-     * @return the result of applying the mapping function
-     * @throws IllegalStateException if this instance represents failure
+     * @return the result of applying the mapping function, or this failure
      */
-    public <R> Result<R> map(Function<T, R> function) {
-        if (throwable != null) {
-            throw new IllegalStateException("Can't map result with Throwable. Use mapThrowable if needed.");
-        }
-        return success(function.apply(value));
-    }
+    <R> Result<R> map(Function<? super T, ? extends R> function);
 
     /**
-     * Maps the failure throwable using the provided function.
+     * Maps the success value to another result using the provided function. A failure is returned as is.
+     *
+     * @param <R>      the type of the mapped result
+     * @param function the function returning the next result for success value
+     * @return the result returned by the function, or this failure
+     */
+    <R> Result<R> flatMap(Function<? super T, ? extends Result<? extends R>> function);
+
+    /**
+     * Maps the failure throwable using the provided function. A success is returned as is.
      *
-     * @param <R>      the type parameter for the new Result
      * @param function the mapping function for the throwable
-     * @return a new Result instance with the mapped throwable
-     * @throws IllegalStateException if this instance represents success
+     * @return a new Result instance with the mapped throwable, or this success
      */
-    public <R> Result<R> mapThrowable(UnaryOperator<Throwable> function) {
-        if (throwable == null) {
-            throw new IllegalStateException("Can't map empty Throwable. Use map if needed.");
-        }
-        return failure(function.apply(throwable));
-    }
+    Result<T> mapThrowable(UnaryOperator<Throwable> function);
+
+    /**
+     * Turns a failure into a success with the value computed from the throwable. A success is returned as is.
+     *
+     * @param function the function computing the value from the throwable
+     * @return a successful result
+     */
+    Result<T> recover(Function<? super Throwable, ? extends T> function);
+
+    /**
+     * Reduces the result to a single value by applying one of the functions.
+     *
+     * @param <R>       the type of the value
+     * @param onSuccess the function applied to the success value
+     * @param onFailure the function applied to the failure throwable
+     * @return the value returned by the applied function
+     */
+    <R> R fold(Function<? super T, ? extends R> onSuccess, Function<? super Throwable, ? extends R> onFailure);
 
     /**
      * Returns the failure throwable, if any.
      *
      * @return the throwable indicating failure, or {@code null} if success
      */
-    public Throwable failure() {
-        return throwable;
-    }
+    Throwable failure();
 
     /**
      * Returns the success value, or {@code null} if failed.
      *
      * @return the value representing success, or {@code null} if failure
      */
-    public T getOrNull() {
-        return value;
-    }
+    T getOrNull();
 
     /**
      * Returns the success value, or throws an exception if failed.
@@ -123,13 +131,7 @@ public class Result<T> {
      * @return the value representing success
      * @throws IllegalStateException if this instance represents failure
      */
-    public T getOrThrow() {
-        if (isSuccess()) {
-            return value;
-        } else {
-            throw new IllegalStateException("Failure result", throwable);
-        }
-    }
+    T getOrThrow();
 
     /**
      * Returns the success value, or a default value if failed.
@@ -137,17 +139,160 @@ public class Result<T> {
      * @param defaultValue the default value to return if failed
      * @return the value representing success, or the default value if failed
      */
-    public T getOrDefault(T defaultValue) {
-        return isSuccess() ? value : defaultValue;
+    T getOrDefault(T defaultValue);
+
+    /**
+     * Successful result.
+     *
+     * @param value the value representing success, may be {@code null}
+     * @param <T>   the type of the value
+     */
+    record Success<T>(T value) implements Result<T> {
+
+        private static final Success<Object> NULL = new Success<>(null);
+
+        @Override
+        public boolean isSuccess() {
+            return true;
+        }
+
+        @Override
+        public <R> Result<R> map(Function<? super T, ? extends R> function) {
+            return success(function.apply(value));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <R> Result<R> flatMap(Function<? super T, ? extends Result<? extends R>> function) {
+            return Objects.requireNonNull((Result<R>) function.apply(value), "Result should not be null");
+        }
+
+        @Override
+        public Result<T> mapThrowable(UnaryOperator<Throwable> function) {
+            return this;
+        }
+
+        @Override
+        public Result<T> recover(Function<? super Throwable, ? extends T> function) {
+            return this;
+        }
+
+        @Override
+        public <R> R fold(Function<? super T, ? extends R> onSuccess,
+                          Function<? super Throwable, ? extends R> onFailure) {
+            return onSuccess.apply(value);
+        }
+
+        @Override
+        public Throwable failure() {
+            return null;
+        }
+
+        @Override
+        public T getOrNull() {
+            return value;
+        }
+
+        @Override
+        public T getOrThrow() {
+            return value;
+        }
+
+        @Override
+        public T getOrDefault(T defaultValue) {
+            return value;
+        }
+
+        /**
+         * Returns a string representation of this Result instance.
+         *
+         * @return a string representation of this Result instance
+         */
+        @Override
+        public String toString() {
+            return "Result{" + value + '}';
+        }
     }
 
     /**
-     * Returns a string representation of this Result instance.
+     * Failed result.
      *
-     * @return a string representation of this Result instance
+     * @param throwable the throwable indicating failure
+     * @param <T>       the type of the value in case of success
      */
-    @Override
-    public String toString() {
-        return isSuccess() ? "Result{" + value + '}' : "Result{throwable=" + throwable + '}';
+    record Failure<T>(Throwable throwable) implements Result<T> {
+
+        /**
+         * Creates a failed result.
+         *
+         * @param throwable the throwable indicating failure
+         * @throws NullPointerException if the throwable is {@code null}
+         */
+        public Failure {
+            Objects.requireNonNull(throwable, "Throwable should not be null");
+        }
+
+        @Override
+        public boolean isSuccess() {
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <R> Result<R> map(Function<? super T, ? extends R> function) {
+            return (Result<R>) this;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <R> Result<R> flatMap(Function<? super T, ? extends Result<? extends R>> function) {
+            return (Result<R>) this;
+        }
+
+        @Override
+        public Result<T> mapThrowable(UnaryOperator<Throwable> function) {
+            return new Failure<>(function.apply(throwable));
+        }
+
+        @Override
+        public Result<T> recover(Function<? super Throwable, ? extends T> function) {
+            return Result.success(function.apply(throwable));
+        }
+
+        @Override
+        public <R> R fold(Function<? super T, ? extends R> onSuccess,
+                          Function<? super Throwable, ? extends R> onFailure) {
+            return onFailure.apply(throwable);
+        }
+
+        @Override
+        public Throwable failure() {
+            return throwable;
+        }
+
+        @Override
+        public T getOrNull() {
+            return null;
+        }
+
+        @Override
+        public T getOrThrow() {
+            throw new IllegalStateException("Failure result", throwable);
+        }
+
+        @Override
+        public T getOrDefault(T defaultValue) {
+            return defaultValue;
+        }
+
+        /**
+         * Returns a string representation of this Result instance.
+         *
+         * @return a string representation of this Result instance
+         */
+        @Override
+        public String toString() {
+            return "Result{throwable=" + throwable + '}';
+        }
     }
 }
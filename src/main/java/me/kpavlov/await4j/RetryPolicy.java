@@ -0,0 +1,259 @@
+package me.kpavlov.await4j;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Policy retrying failed blocks with exponential backoff and full jitter,
+ * see {@link Async#await(Callable, RetryPolicy)}.
+ * <p>
+ * Before attempt {@code n + 1}, the thread sleeps for a random time between zero and
+ * {@code min(maxBackoff, initialBackoff * multiplier^(n - 1))}, so concurrent callers failing at the same
+ * moment do not retry in lockstep. Attempts and backoff sleeps run on the thread executing the block,
+ * so no platform thread is blocked while waiting.
+ * </p>
+ * <pre>{@code
+ * private static final RetryPolicy RETRY = RetryPolicy.builder()
+ *     .maxAttempts(4)
+ *     .initialBackoff(Duration.ofMillis(50))
+ *     .retryOn(e -> e.getCause() instanceof IOException)
+ *     .budget(Duration.ofSeconds(2))
+ *     .build();
+ * ...
+ * final var user = Async.await(() -> loadUser(id), RETRY);
+ * }</pre>
+ * <p>
+ * Retries stop when the attempts are exhausted, the failure does not match the
+ * {@linkplain Builder#retryOn(Predicate) predicate}, the thread is interrupted, or the next backoff
+ * would not end before the {@linkplain Builder#budget(Duration) budget} or the {@linkplain Deadline deadline}
+ * of the current scope. The last failure is then thrown. Instances are immutable and can be shared.
+ * </p>
+ */
+public final class RetryPolicy {
+
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final double multiplier;
+    private final Predicate<? super Throwable> retryOn;
+    private final Duration budget;
+
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoffNanos = builder.initialBackoff.toNanos();
+        this.maxBackoffNanos = builder.maxBackoff.toNanos();
+        this.multiplier = builder.multiplier;
+        this.retryOn = builder.retryOn;
+        this.budget = builder.budget;
+    }
+
+    /**
+     * Creates a new builder with default settings: 3 attempts, backoff starting at 100 ms and doubling
+     * up to 10 s, retrying on any exception but not on {@link Error}, without a time budget.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the maximum time to wait for all attempts in milliseconds.
+     *
+     * @return the time budget in milliseconds, rounded up, or {@code 0} if there is no budget
+     */
+    long budgetMillis() {
+        if (budget == null) {
+            return 0;
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(budget.toNanos() + TimeUnit.MILLISECONDS.toNanos(1) - 1));
+    }
+
+    /**
+     * Calls the block on the current thread, retrying it according to this policy.
+     * The time budget, if any, applies as a {@linkplain Deadline deadline scope} to the awaits made by the block.
+     *
+     * @param <T>   the type of the result
+     * @param block the block to call
+     * @return the result of the first successful attempt
+     * @throws CompletionException if the last attempt throws an exception
+     */
+    <T> T call(Callable<? extends T> block) {
+        return budget == null ? retry(block) : Deadline.withinTranslated(budget, () -> retry(block));
+    }
+
+    @SuppressWarnings("java:S1181")
+    private <T> T retry(Callable<? extends T> block) {
+        for (int attempt = 1; ; attempt++) {
+            final Throwable failure;
+            try {
+                return block.call();
+            } catch (Throwable e) {
+                failure = Async.translateFailure(e);
+            }
+            if (attempt >= maxAttempts || Thread.currentThread().isInterrupted() || !retryOn.test(failure)) {
+                throw Async.rethrow(failure);
+            }
+            final long backoff = backoffNanos(attempt);
+            final long remaining = Deadline.remaining().map(Duration::toNanos).orElse(Long.MAX_VALUE);
+            if (backoff >= remaining) {
+                throw Async.rethrow(failure);
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(backoff);
+            } catch (InterruptedException e) {
+                failure.addSuppressed(e);
+                Thread.currentThread().interrupt();
+                throw Async.rethrow(failure);
+            }
+        }
+    }
+
+    /**
+     * Returns a random backoff before the next attempt: full jitter between zero and the exponential cap.
+     *
+     * @param attempt the number of the failed attempt, starting from 1
+     * @return the backoff in nanoseconds
+     */
+    long backoffNanos(int attempt) {
+        final double exponential = initialBackoffNanos * Math.pow(multiplier, attempt - 1.0);
+        final long cap = exponential >= maxBackoffNanos ? maxBackoffNanos : (long) exponential;
+        return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicy{maxAttempts=" + maxAttempts +
+            ", initialBackoff=" + Duration.ofNanos(initialBackoffNanos) +
+            ", maxBackoff=" + Duration.ofNanos(maxBackoffNanos) +
+            ", multiplier=" + multiplier +
+            ", budget=" + budget + '}';
+    }
+
+    /**
+     * Builder of {@link RetryPolicy} instances.
+     */
+    public static final class Builder {
+
+        private int maxAttempts = 3;
+        private Duration initialBackoff = Duration.ofMillis(100);
+        private Duration maxBackoff = Duration.ofSeconds(10);
+        private double multiplier = 2;
+        private Predicate<? super Throwable> retryOn = e -> !(e instanceof Error);
+        private Duration budget;
+
+        private Builder() {
+            // use RetryPolicy.builder()
+        }
+
+        /**
+         * Sets the maximum number of attempts, including the first one.
+         *
+         * @param maxAttempts the maximum number of attempts, {@code 3} by default
+         * @return this builder
+         * @throws IllegalArgumentException if {@code maxAttempts} is not positive
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts <= 0) {
+                throw new IllegalArgumentException("maxAttempts should be positive: " + maxAttempts);
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Sets the upper bound of the backoff after the first failed attempt.
+         *
+         * @param initialBackoff the initial backoff, 100 ms by default
+         * @return this builder
+         * @throws IllegalArgumentException if the backoff is negative
+         */
+        public Builder initialBackoff(Duration initialBackoff) {
+            this.initialBackoff = requireNotNegative(initialBackoff, "initialBackoff");
+            return this;
+        }
+
+        /**
+         * Sets the upper bound of any backoff.
+         *
+         * @param maxBackoff the maximum backoff, 10 s by default
+         * @return this builder
+         * @throws IllegalArgumentException if the backoff is negative
+         */
+        public Builder maxBackoff(Duration maxBackoff) {
+            this.maxBackoff = requireNotNegative(maxBackoff, "maxBackoff");
+            return this;
+        }
+
+        /**
+         * Sets the factor the backoff bound grows by after each failed attempt.
+         *
+         * @param multiplier the backoff multiplier, {@code 2} by default
+         * @return this builder
+         * @throws IllegalArgumentException if the multiplier is less than {@code 1}
+         */
+        public Builder multiplier(double multiplier) {
+            if (!(multiplier >= 1)) {
+                throw new IllegalArgumentException("multiplier should be at least 1: " + multiplier);
+            }
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        /**
+         * Sets the predicate deciding whether a failure is retried. It is tested with the failure translated
+         * the same way as by {@link Async#await(Callable)}, e.g. a {@link CompletionException} caused
+         * by a checked exception thrown by the block.
+         *
+         * @param retryOn the predicate, retrying on anything but {@link Error} by default
+         * @return this builder
+         */
+        public Builder retryOn(Predicate<? super Throwable> retryOn) {
+            this.retryOn = Objects.requireNonNull(retryOn, "Predicate should not be null");
+            return this;
+        }
+
+        /**
+         * Sets the total time budget of all attempts and backoffs. The attempt running when the budget is spent
+         * is interrupted, and awaits made by the block are limited by the remaining budget.
+         *
+         * @param budget the time budget, or {@code null} for no budget, which is the default
+         * @return this builder
+         * @throws IllegalArgumentException if the budget is not positive
+         */
+        public Builder budget(Duration budget) {
+            if (budget != null && (budget.isZero() || budget.isNegative())) {
+                throw new IllegalArgumentException("budget should be positive: " + budget);
+            }
+            this.budget = budget;
+            return this;
+        }
+
+        /**
+         * Creates a new {@link RetryPolicy}.
+         *
+         * @return a new retry policy
+         * @throws IllegalArgumentException if the initial backoff exceeds the maximum backoff
+         */
+        public RetryPolicy build() {
+            if (initialBackoff.compareTo(maxBackoff) > 0) {
+                throw new IllegalArgumentException("initialBackoff should not exceed maxBackoff: " +
+                    initialBackoff + " > " + maxBackoff);
+            }
+            return new RetryPolicy(this);
+        }
+
+        private static Duration requireNotNegative(Duration duration, String name) {
+            Objects.requireNonNull(duration, name + " should not be null");
+            if (duration.isNegative()) {
+                throw new IllegalArgumentException(name + " should not be negative: " + duration);
+            }
+            return duration;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package me.kpavlov.await4j;
+
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Group of tasks started by a single waiter, which consumes them in completion order.
+ * <p>
+ * Each completed task is put into a queue and unparks the waiter, so waiting for the next
+ * completed task costs nothing, no matter how many tasks are still running.
+ * The group must not be used by several threads at the same time.
+ * The waiter is the thread that has last called {@link #poll(long)}.
+ * </p>
+ *
+ * @param <T> the type of the results
+ */
+final class TaskGroup<T> {
+
+    private final Executor launcher;
+    private final ExceptionWrapping exceptionWrapping;
+    private volatile Thread waiter;
+    private final Queue<Member> completed = new ConcurrentLinkedQueue<>();
+    private final Set<Member> running = new HashSet<>();
+
+    TaskGroup(Executor launcher, ExceptionWrapping exceptionWrapping) {
+        this.launcher = launcher;
+        this.exceptionWrapping = exceptionWrapping;
+        this.waiter = Thread.currentThread();
+    }
+
+    /**
+     * Starts a new member task calling the block.
+     *
+     * @param block the block to call
+     * @param index the index of the task, returned back with the result
+     */
+    void start(Callable<? extends T> block, int index) {
+        start(Callable::call, block, index);
+    }
+
+    /**
+     * Starts a new member task applying the function to the argument.
+     * No lambda capturing the argument is needed.
+     *
+     * @param function the function to apply
+     * @param argument the argument of the function
+     * @param index    the index of the task, returned back with the result
+     */
+    @SuppressWarnings("unchecked")
+    <A> void start(ThrowingFunction<? super A, ? extends T> function, A argument, int index) {
+        final var member = new Member((ThrowingFunction<Object, ? extends T>) function, argument, index);
+        running.add(member);
+        launcher.execute(member);
+    }
+
+    /**
+     * Returns the number of started tasks which have not been polled yet.
+     *
+     * @return the number of pending tasks
+     */
+    int pending() {
+        return running.size();
+    }
+
+    /**
+     * Waits for the next completed task.
+     *
+     * @param deadlineNanos the deadline in terms of {@link System#nanoTime()}, or {@code 0} to wait forever
+     * @return the completed task, or {@code null} if the deadline has passed
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    Member poll(long deadlineNanos) throws InterruptedException {
+        waiter = Thread.currentThread();
+        Member member;
+        while ((member = completed.poll()) == null) {
+            if (deadlineNanos == 0) {
+                LockSupport.park(this);
+            } else {
+                final long remaining = deadlineNanos - System.nanoTime();
+                if (remaining <= 0) {
+                    return null;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        running.remove(member);
+        return member;
+    }
+
+    /**
+     * Cancels all pending tasks.
+     *
+     * @param mayInterruptIfRunning {@code true} to interrupt threads running the tasks
+     * @return the number of tasks which have been cancelled before completion
+     */
+    int cancelAll(boolean mayInterruptIfRunning) {
+        int cancelled = 0;
+        for (final Member member : running) {
+            if (member.cancel(mayInterruptIfRunning)) {
+                cancelled++;
+            }
+        }
+        running.clear();
+        completed.clear();
+        return cancelled;
+    }
+
+    /**
+     * Member task of the group.
+     */
+    final class Member extends AwaitTask<T> {
+
+        private final ThrowingFunction<Object, ? extends T> function;
+        private final Object argument;
+        final int index;
+
+        private Member(ThrowingFunction<Object, ? extends T> function, Object argument, int index) {
+            this.function = function;
+            this.argument = argument;
+            this.index = index;
+            this.wrapping = exceptionWrapping;
+        }
+
+        @Override
+        @SuppressWarnings("java:S1181")
+        Throwable execute() {
+            try {
+                value = function.apply(argument);
+                return null;
+            } catch (Throwable e) {
+                return Async.translateFailure(e, wrapping);
+            }
+        }
+
+        @Override
+        void done() {
+            completed.add(this);
+            LockSupport.unpark(waiter);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package me.kpavlov.await4j;
+
+/**
+ * Functional interface similar to {@link java.util.function.BiFunction}, but allows throwing checked exceptions.
+ *
+ * @param <T> the type of the first argument to the function
+ * @param <U> the type of the second argument to the function
+ * @param <R> the type of the result of the function
+ */
+@FunctionalInterface
+public interface ThrowingBiFunction<T, U, R> {
+
+    /**
+     * Applies this function to the given arguments.
+     *
+     * @param t the first function argument
+     * @param u the second function argument
+     * @return the function result
+     * @throws Exception if an exception occurs during execution
+     */
+    R apply(T t, U u) throws Exception;
+}
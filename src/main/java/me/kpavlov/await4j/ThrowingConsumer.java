@@ -0,0 +1,18 @@
+package me.kpavlov.await4j;
+
+/**
+ * Functional interface similar to {@link java.util.function.Consumer}, but allows throwing checked exceptions.
+ *
+ * @param <T> the type of the input to the operation
+ */
+@FunctionalInterface
+public interface ThrowingConsumer<T> {
+
+    /**
+     * Performs this operation on the given argument.
+     *
+     * @param t the input argument
+     * @throws Exception if an exception occurs during execution
+     */
+    void accept(T t) throws Exception;
+}
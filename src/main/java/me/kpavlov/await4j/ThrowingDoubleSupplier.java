@@ -0,0 +1,17 @@
+package me.kpavlov.await4j;
+
+/**
+ * Functional interface similar to {@link java.util.function.DoubleSupplier}, but allows throwing checked exceptions.
+ * Used to await {@code double} values without boxing.
+ */
+@FunctionalInterface
+public interface ThrowingDoubleSupplier {
+
+    /**
+     * Computes a result, or throws an exception if unable to do so.
+     *
+     * @return the result
+     * @throws Exception if unable to compute a result
+     */
+    double getAsDouble() throws Exception;
+}
@@ -0,0 +1,20 @@
+package me.kpavlov.await4j;
+
+/**
+ * Functional interface similar to {@link java.util.function.Function}, but allows throwing checked exceptions.
+ *
+ * @param <T> the type of the input to the function
+ * @param <R> the type of the result of the function
+ */
+@FunctionalInterface
+public interface ThrowingFunction<T, R> {
+
+    /**
+     * Applies this function to the given argument.
+     *
+     * @param t the function argument
+     * @return the function result
+     * @throws Exception if an exception occurs during execution
+     */
+    R apply(T t) throws Exception;
+}
@@ -0,0 +1,17 @@
+package me.kpavlov.await4j;
+
+/**
+ * Functional interface similar to {@link java.util.function.IntSupplier}, but allows throwing checked exceptions.
+ * Used to await {@code int} values without boxing.
+ */
+@FunctionalInterface
+public interface ThrowingIntSupplier {
+
+    /**
+     * Computes a result, or throws an exception if unable to do so.
+     *
+     * @return the result
+     * @throws Exception if unable to compute a result
+     */
+    int getAsInt() throws Exception;
+}
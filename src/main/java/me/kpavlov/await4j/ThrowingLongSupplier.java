@@ -0,0 +1,17 @@
+package me.kpavlov.await4j;
+
+/**
+ * Functional interface similar to {@link java.util.function.LongSupplier}, but allows throwing checked exceptions.
+ * Used to await {@code long} values without boxing.
+ */
+@FunctionalInterface
+public interface ThrowingLongSupplier {
+
+    /**
+     * Computes a result, or throws an exception if unable to do so.
+     *
+     * @return the result
+     * @throws Exception if unable to compute a result
+     */
+    long getAsLong() throws Exception;
+}
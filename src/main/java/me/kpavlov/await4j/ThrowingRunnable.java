@@ -20,6 +20,7 @@ public interface ThrowingRunnable {
      *
      * @param throwingRunnable the throwing runnable to convert
      * @return a {@link Runnable} that wraps the throwing runnable and converts checked exceptions to unchecked {@link CompletionException}
+     * according to {@link ExceptionWrapping}
      */
     static Runnable toRunnable(ThrowingRunnable throwingRunnable) {
         return () -> {
@@ -27,9 +28,9 @@ public interface ThrowingRunnable {
                 throwingRunnable.run();
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt(); // Restore the interrupted status
-                throw new CompletionException("Can't execute async task: interrupted", e);
+                throw Async.sneakyThrow(ExceptionWrapping.CURRENT.wrap(Async.INTERRUPTED_MESSAGE, e));
             } catch (Exception e) {
-                throw new CompletionException(e); // Wrap checked exceptions in RuntimeException
+                throw Async.sneakyThrow(ExceptionWrapping.CURRENT.wrap(null, e)); // Wrap checked exceptions
             }
         };
     }
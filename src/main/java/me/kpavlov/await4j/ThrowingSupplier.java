@@ -0,0 +1,29 @@
+package me.kpavlov.await4j;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Functional interface similar to {@link java.util.function.Supplier}, but allows throwing checked exceptions.
+ * <p>
+ * It extends {@link Callable}, so a supplier can be passed to any method accepting a {@code Callable}
+ * without an adapting lambda.
+ * </p>
+ *
+ * @param <T> the type of the result
+ */
+@FunctionalInterface
+public interface ThrowingSupplier<T> extends Callable<T> {
+
+    /**
+     * Gets a result.
+     *
+     * @return the result
+     * @throws Exception if an exception occurs during execution
+     */
+    T get() throws Exception;
+
+    @Override
+    default T call() throws Exception {
+        return get();
+    }
+}
@@ -0,0 +1,130 @@
+package me.kpavlov.await4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static me.kpavlov.await4j.TestUtils.sleepMillis;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncAwaitAllTest extends AbstractAsyncTest {
+
+    @Test
+    void shouldReturnResultsInInputOrder() {
+        // given
+        final List<Callable<String>> blocks = List.of(
+            () -> {
+                sleepMillis(150);
+                return "One";
+            },
+            () -> null,
+            () -> {
+                sleepMillis(50);
+                return "Three";
+            }
+        );
+        // when
+        final var results = Async.awaitAll(blocks);
+        // then
+        assertThat(results).containsExactly("One", null, "Three");
+    }
+
+    @Test
+    void shouldRunBlocksInParallel() {
+        // given
+        final List<Callable<Thread>> blocks = List.of(
+            () -> {
+                sleepMillis(300);
+                return Thread.currentThread();
+            },
+            () -> {
+                sleepMillis(300);
+                return Thread.currentThread();
+            },
+            () -> {
+                sleepMillis(300);
+                return Thread.currentThread();
+            }
+        );
+        // when
+        final long startNanos = System.nanoTime();
+        final var threads = Async.awaitAll(blocks);
+        final long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        // then
+        assertThat(durationMillis).isLessThan(900);
+        assertThat(threads).doesNotHaveDuplicates()
+            .allMatch(Thread::isVirtual);
+    }
+
+    @Test
+    void shouldReturnEmptyListForNoBlocks() {
+        assertThat(Async.awaitAll(List.<Callable<String>>of())).isEmpty();
+    }
+
+    @Test
+    void shouldFailFastAndInterruptSiblings() throws InterruptedException {
+        // given
+        final var exception = new IOException("Failure");
+        final var started = new CountDownLatch(1);
+        final var interrupted = new CountDownLatch(1);
+        final List<Callable<String>> blocks = List.of(
+            () -> {
+                started.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+                return "Slow";
+            },
+            () -> {
+                started.await();
+                throw exception;
+            }
+        );
+        // when & then
+        assertThatThrownBy(() -> Async.awaitAll(blocks))
+            .isInstanceOf(CompletionException.class)
+            .hasCause(exception);
+        assertThat(interrupted.await(1, TimeUnit.SECONDS))
+            .as("Sibling block should be interrupted")
+            .isTrue();
+    }
+
+    @Test
+    void shouldRethrowRuntimeExceptionAndError() {
+        final var runtimeException = new IllegalArgumentException("Failure");
+        assertThatThrownBy(() -> Async.awaitAll(List.<Callable<String>>of(() -> {
+            throw runtimeException;
+        }))).isSameAs(runtimeException);
+
+        final var error = new Error("Expected");
+        assertThatThrownBy(() -> Async.awaitAll(List.<Callable<String>>of(() -> {
+            throw error;
+        }))).isSameAs(error);
+    }
+
+    @Test
+    void shouldFailOnTimeout() {
+        // given
+        final List<Callable<String>> blocks = List.of(
+            () -> "Fast",
+            () -> {
+                Thread.sleep(10_000);
+                return "Slow";
+            }
+        );
+        // when & then
+        assertThatThrownBy(() -> Async.awaitAll(blocks, 100))
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+    }
+}
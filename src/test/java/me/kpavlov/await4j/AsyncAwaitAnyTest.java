@@ -0,0 +1,96 @@
+package me.kpavlov.await4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static me.kpavlov.await4j.TestUtils.sleepMillis;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncAwaitAnyTest extends AbstractAsyncTest {
+
+    @Test
+    void shouldReturnFirstSuccessAndInterruptLosers() throws InterruptedException {
+        // given
+        final var started = new CountDownLatch(1);
+        final var interrupted = new CountDownLatch(1);
+        final Callable<String> slow = () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return "Slow";
+        };
+        final Callable<String> fast = () -> {
+            started.await();
+            return "Fast";
+        };
+        // when
+        final String result = Async.awaitAny(slow, fast);
+        // then
+        assertThat(result).isEqualTo("Fast");
+        assertThat(interrupted.await(1, TimeUnit.SECONDS))
+            .as("Losing block should be interrupted")
+            .isTrue();
+    }
+
+    @Test
+    void shouldIgnoreFailuresWhenAnyBlockSucceeds() {
+        // given
+        final Callable<String> failing = () -> {
+            throw new IOException("Failure");
+        };
+        final Callable<String> succeeding = () -> {
+            sleepMillis(50);
+            return "OK";
+        };
+        // when & then
+        assertThat(Async.awaitAny(failing, succeeding)).isEqualTo("OK");
+    }
+
+    @Test
+    void shouldFailWhenAllBlocksFail() {
+        // given
+        final var first = new IOException("First");
+        final var second = new IllegalStateException("Second");
+        final Callable<String> failingFirst = () -> {
+            throw first;
+        };
+        final Callable<String> failingSecond = () -> {
+            sleepMillis(100);
+            throw second;
+        };
+        // when & then
+        assertThatThrownBy(() -> Async.awaitAny(failingFirst, failingSecond))
+            .isInstanceOf(CompletionException.class)
+            .hasCause(first)
+            .satisfies(e -> assertThat(e.getSuppressed()).containsExactly(second));
+    }
+
+    @Test
+    void shouldFailOnTimeout() {
+        final List<Callable<String>> blocks = List.of(() -> {
+            Thread.sleep(10_000);
+            return "Slow";
+        });
+        assertThatThrownBy(() -> Async.awaitAny(blocks, 50))
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void shouldRejectNoBlocks() {
+        assertThatThrownBy(Async::awaitAny)
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,81 @@
+package me.kpavlov.await4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static me.kpavlov.await4j.TestUtils.sleepMillis;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncAwaitApplyTest extends AbstractAsyncTest {
+
+    @Test
+    void shouldApplyFunctionToArgument() {
+        // given
+        final ThrowingFunction<String, Integer> length = String::length;
+        // when & then
+        assertThat(Async.awaitApply(length, "Hello")).isEqualTo(5);
+    }
+
+    @Test
+    void shouldApplyBiFunctionToArguments() {
+        // given
+        final ThrowingBiFunction<String, Integer, String> repeat = String::repeat;
+        // when & then
+        assertThat(Async.awaitApply(repeat, "ab", 2)).isEqualTo("abab");
+    }
+
+    @Test
+    void shouldAcceptArgumentOnVirtualThread() {
+        // given
+        final var accepted = new AtomicReference<String>();
+        final var thread = new AtomicReference<Thread>();
+        final ThrowingConsumer<String> consumer = value -> {
+            thread.set(Thread.currentThread());
+            accepted.set(value);
+        };
+        // when
+        Async.awaitAccept(consumer, "Hello");
+        // then
+        assertThat(accepted).hasValue("Hello");
+        assertThat(thread.get().isVirtual()).isTrue();
+    }
+
+    @Test
+    void shouldTranslateFailure() {
+        // given
+        final var exception = new IOException("Failure");
+        final ThrowingConsumer<String> consumer = value -> {
+            throw exception;
+        };
+        // when & then
+        assertThatThrownBy(() -> Async.awaitAccept(consumer, "Hello"))
+            .isInstanceOf(CompletionException.class)
+            .hasCause(exception);
+    }
+
+    @Test
+    void shouldTimeOut() {
+        // given
+        final ThrowingFunction<Integer, Integer> slow = millis -> {
+            sleepMillis(millis);
+            return millis;
+        };
+        // when & then
+        assertThatThrownBy(() -> Async.awaitApply(slow, 1000, 50))
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void shouldAcceptSupplierAsCallable() {
+        // given
+        final ThrowingSupplier<String> supplier = () -> "OK";
+        // when & then
+        assertThat(Async.await(supplier)).isEqualTo("OK");
+    }
+}
@@ -0,0 +1,106 @@
+package me.kpavlov.await4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static me.kpavlov.await4j.TestUtils.sleepMillis;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncAwaitCompletionsTest extends AbstractAsyncTest {
+
+    @Test
+    void shouldStreamResultsInCompletionOrder() {
+        // given
+        final List<Callable<String>> blocks = List.of(
+            () -> {
+                sleepMillis(300);
+                return "Slow";
+            },
+            () -> {
+                sleepMillis(150);
+                return "Medium";
+            },
+            () -> "Fast"
+        );
+        // when
+        try (final var results = Async.awaitCompletions(blocks)) {
+            // then
+            assertThat(results.map(Result::getOrThrow))
+                .containsExactly("Fast", "Medium", "Slow");
+        }
+    }
+
+    @Test
+    void shouldReturnFailuresAsResults() {
+        // given
+        final var exception = new IOException("Failure");
+        final var runtimeException = new IllegalStateException("Failure");
+        final List<Callable<String>> blocks = List.of(
+            () -> {
+                throw exception;
+            },
+            () -> {
+                sleepMillis(100);
+                throw runtimeException;
+            },
+            () -> {
+                sleepMillis(200);
+                return "OK";
+            }
+        );
+        // when
+        final List<Result<String>> results;
+        try (final var stream = Async.awaitCompletions(blocks)) {
+            results = stream.toList();
+        }
+        // then
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).failure())
+            .isInstanceOf(CompletionException.class)
+            .hasCause(exception);
+        assertThat(results.get(1).failure()).isSameAs(runtimeException);
+        assertThat(results.get(2).getOrThrow()).isEqualTo("OK");
+    }
+
+    @Test
+    void shouldCancelRemainingBlocksOnClose() throws InterruptedException {
+        // given
+        final var started = new CountDownLatch(1);
+        final var interrupted = new CountDownLatch(1);
+        final List<Callable<String>> blocks = List.of(
+            () -> {
+                started.await();
+                return "Fast";
+            },
+            () -> {
+                started.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+                return "Slow";
+            }
+        );
+        final var awaiter = Awaiter.builder().build();
+        // when
+        try (final var results = awaiter.awaitCompletions(blocks)) {
+            assertThat(results.findFirst()).hasValueSatisfying(result ->
+                assertThat(result.getOrThrow()).isEqualTo("Fast")
+            );
+        }
+        // then
+        assertThat(interrupted.await(1, TimeUnit.SECONDS))
+            .as("Remaining block should be interrupted")
+            .isTrue();
+        assertThat(awaiter.cancelledTaskCount()).isOne();
+        assertThat(awaiter.abandonedTaskCount()).isZero();
+    }
+}
@@ -0,0 +1,164 @@
+package me.kpavlov.await4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncAwaitHedgedTest extends AbstractAsyncTest {
+
+    @Test
+    void shouldNotHedgeFastBlock() {
+        // given
+        final var policy = HedgePolicy.builder().delay(Duration.ofSeconds(1)).build();
+        // when
+        final var result = Async.awaitHedged(() -> "OK", policy);
+        // then
+        assertThat(result).isEqualTo("OK");
+        assertThat(policy.hedgeCount()).isZero();
+    }
+
+    @Test
+    void shouldReturnBackupResultAndInterruptSlowAttempt() throws InterruptedException {
+        // given
+        final var policy = HedgePolicy.builder().delay(Duration.ofMillis(20)).build();
+        final var attempts = new AtomicInteger();
+        final var interrupted = new CountDownLatch(1);
+        final Callable<String> block = () -> {
+            if (attempts.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+                return "Slow";
+            }
+            return "Backup";
+        };
+        // when
+        final var result = Async.awaitHedged(block, policy);
+        // then
+        assertThat(result).isEqualTo("Backup");
+        assertThat(policy.hedgeCount()).isOne();
+        assertThat(interrupted.await(1, TimeUnit.SECONDS))
+            .as("Slow attempt should be interrupted")
+            .isTrue();
+    }
+
+    @Test
+    void shouldNotHedgeWhenHedgeRateIsExceeded() {
+        // given
+        final var policy = HedgePolicy.builder()
+            .delay(Duration.ofMillis(10))
+            .maxHedgeRatio(0)
+            .maxHedgeBurst(0)
+            .build();
+        final var attempts = new AtomicInteger();
+        final Callable<Integer> block = () -> {
+            Thread.sleep(50);
+            return attempts.incrementAndGet();
+        };
+        // when
+        final var result = Async.awaitHedged(block, policy);
+        // then
+        assertThat(result).isOne();
+        assertThat(attempts).hasValue(1);
+        assertThat(policy.hedgeCount()).isZero();
+    }
+
+    @Test
+    void shouldThrowFastFailureWithoutHedging() {
+        // given
+        final var policy = HedgePolicy.builder().delay(Duration.ofSeconds(1)).build();
+        final Callable<String> failing = () -> {
+            throw new IllegalStateException("Unavailable");
+        };
+        // when & then
+        assertThatThrownBy(() -> Async.awaitHedged(failing, policy))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Unavailable");
+        assertThat(policy.hedgeCount()).isZero();
+    }
+
+    @Test
+    void delayShouldFollowObservedPercentile() {
+        // given
+        final var policy = HedgePolicy.builder()
+            .delay(Duration.ofSeconds(1))
+            .percentile(0.9)
+            .window(10)
+            .build();
+        // when
+        for (int i = 1; i <= 10; i++) {
+            policy.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        // then
+        assertThat(policy.delay()).isEqualTo(Duration.ofMillis(9));
+    }
+
+    @Test
+    void shouldObserveBackupWinAsLowerBoundOfFirstAttemptLatency() {
+        // given
+        final var policy = HedgePolicy.builder()
+            .delay(Duration.ofMillis(20))
+            .percentile(0.5)
+            .window(1)
+            .build();
+        final var attempts = new AtomicInteger();
+        final Callable<String> slowFirstAttempt = () -> {
+            if (attempts.getAndIncrement() == 0) {
+                Thread.sleep(5_000);
+            }
+            return "Backup";
+        };
+        // when
+        final var hedged = Async.awaitHedged(slowFirstAttempt, policy);
+        // then
+        assertThat(hedged).isEqualTo("Backup");
+        assertThat(policy.delay())
+            .as("Call won by the backup attempt should be observed as at least the hedge delay")
+            .isGreaterThanOrEqualTo(Duration.ofMillis(20))
+            .isLessThan(Duration.ofSeconds(5));
+        // when
+        final var result = Async.awaitHedged(() -> "First", policy);
+        // then
+        assertThat(result).isEqualTo("First");
+        assertThat(policy.delay()).isLessThan(Duration.ofMillis(20));
+    }
+
+    @Test
+    void shouldNotShrinkDelayUnderStableSlowTail() {
+        // given
+        final var policy = HedgePolicy.builder()
+            .delay(Duration.ofMillis(20))
+            .percentile(0.9)
+            .window(10)
+            .maxHedgeRatio(1)
+            .maxHedgeBurst(100)
+            .build();
+        // when
+        for (int i = 0; i < 40; i++) {
+            final boolean slow = i % 2 == 0;
+            final var attempts = new AtomicInteger();
+            final var result = Async.awaitHedged(() -> {
+                if (slow && attempts.getAndIncrement() == 0) {
+                    Thread.sleep(5_000);
+                }
+                return "OK";
+            }, policy);
+            assertThat(result).isEqualTo("OK");
+        }
+        // then
+        assertThat(policy.hedgeCount()).isEqualTo(20);
+        assertThat(policy.delay())
+            .as("Half of the calls are slower than the delay, so their p90 should not drop below it")
+            .isGreaterThanOrEqualTo(Duration.ofMillis(20));
+    }
+}
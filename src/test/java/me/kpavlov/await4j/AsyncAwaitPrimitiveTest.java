@@ -0,0 +1,65 @@
+package me.kpavlov.await4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import static me.kpavlov.await4j.TestUtils.sleepMillis;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncAwaitPrimitiveTest extends AbstractAsyncTest {
+
+    @Test
+    void shouldAwaitPrimitiveValues() {
+        // when & then
+        assertThat(Async.awaitInt(() -> 42)).isEqualTo(42);
+        assertThat(Async.awaitLong(() -> Long.MAX_VALUE)).isEqualTo(Long.MAX_VALUE);
+        assertThat(Async.awaitDouble(() -> 0.5)).isEqualTo(0.5);
+    }
+
+    @Test
+    void shouldTranslateFailure() {
+        // given
+        final var exception = new IOException("Failure");
+        // when & then
+        assertThatThrownBy(() -> Async.awaitLong(() -> {
+            throw exception;
+        }))
+            .isInstanceOf(CompletionException.class)
+            .hasCause(exception);
+    }
+
+    @Test
+    void shouldTimeOut() {
+        // when & then
+        assertThatThrownBy(() -> Async.awaitInt(() -> {
+            sleepMillis(1000);
+            return 1;
+        }, 50))
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void shouldReturnPrimitiveResults() {
+        // given
+        final var exception = new IllegalStateException("Failure");
+        // when
+        final LongResult success = Async.awaitLongResult(() -> 42L);
+        final IntResult failure = Async.awaitIntResult(() -> {
+            throw exception;
+        });
+        final DoubleResult timeout = Async.awaitDoubleResult(() -> {
+            sleepMillis(1000);
+            return 1.0;
+        }, 50);
+        // then
+        assertThat(success).isEqualTo(LongResult.success(42L));
+        assertThat(failure.failure()).isSameAs(exception);
+        assertThat(failure.getOrDefault(-1)).isEqualTo(-1);
+        assertThat(timeout.failure()).hasCauseInstanceOf(TimeoutException.class);
+    }
+}
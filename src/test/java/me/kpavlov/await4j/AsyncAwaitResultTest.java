@@ -0,0 +1,88 @@
+package me.kpavlov.await4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+
+import static me.kpavlov.await4j.TestUtils.sleepMillis;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncAwaitResultTest extends AbstractAsyncTest {
+
+    @Test
+    void shouldReturnSuccessfulResult() {
+        // when
+        final Result<String> result = Async.awaitResult(() -> "OK");
+        // then
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getOrThrow()).isEqualTo("OK");
+    }
+
+    @Test
+    void shouldReturnFailureInsteadOfThrowing() {
+        // given
+        final var exception = new IOException("Not found");
+        // when
+        final Result<String> result = Async.awaitResult(() -> {
+            throw exception;
+        });
+        // then
+        assertThat(result.isFailure()).isTrue();
+        assertThat(result.failure())
+            .isInstanceOf(CompletionException.class)
+            .hasCause(exception);
+    }
+
+    @Test
+    void shouldReturnTimeoutAsFailure() {
+        // when
+        final Result<String> result = Async.awaitResult(() -> {
+            sleepMillis(1000);
+            return "Late";
+        }, 50);
+        // then
+        assertThat(result.failure())
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void shouldReturnFutureResult() throws Exception {
+        // given
+        final var exception = new IllegalStateException("Failure");
+        try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final var success = executor.submit(() -> "OK");
+            final var failure = executor.submit(() -> {
+                sleepMillis(50);
+                throw exception;
+            });
+            // when & then
+            assertThat(Async.awaitResult(success).getOrThrow()).isEqualTo("OK");
+            assertThat(Async.awaitResult(failure, 1000).failure()).isSameAs(exception);
+        }
+    }
+
+    @Test
+    void shouldReturnCompletableFutureResult() {
+        // given
+        final var exception = new IllegalStateException("Failure");
+        final CompletableFuture<String> failed = CompletableFuture.supplyAsync(() -> {
+            sleepMillis(50);
+            throw exception;
+        });
+        final var cancelled = new CompletableFuture<String>();
+        cancelled.cancel(false);
+        // when & then
+        assertThat(Async.awaitResult(failed).failure()).isSameAs(exception);
+        assertThat(Async.awaitResult(CompletableFuture.completedFuture("OK")).getOrThrow()).isEqualTo("OK");
+        assertThat(Async.awaitResult(cancelled).failure()).isInstanceOf(CancellationException.class);
+        assertThat(Async.awaitResult(new CompletableFuture<String>(), 50).failure())
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+    }
+}
@@ -0,0 +1,118 @@
+package me.kpavlov.await4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncCancellationTest extends AbstractAsyncTest {
+
+    @Test
+    void interruptingCallerShouldCancelAwaitedBlock() throws InterruptedException {
+        // given
+        final var started = new CountDownLatch(1);
+        final var interrupted = new CountDownLatch(1);
+        final Callable<String> block = () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return "Too late";
+        };
+        final var failure = new AtomicReference<Throwable>();
+        final long cancelledBefore = Async.cancelledTaskCount();
+        final var caller = Thread.ofVirtual().start(() -> {
+            try {
+                Async.await(block);
+            } catch (CompletionException e) {
+                failure.set(e);
+            }
+        });
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        // when
+        caller.interrupt();
+        caller.join();
+        // then
+        assertThat(failure.get())
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(InterruptedException.class);
+        assertThat(interrupted.await(1, TimeUnit.SECONDS))
+            .as("Awaited block should be interrupted")
+            .isTrue();
+        assertThat(Async.cancelledTaskCount()).isGreaterThan(cancelledBefore);
+    }
+
+    @Test
+    void interruptingCallerShouldCancelNestedBlocks() throws InterruptedException {
+        // given
+        final var started = new CountDownLatch(1);
+        final var interrupted = new CountDownLatch(1);
+        final ThrowingRunnable innermost = () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+        };
+        final var caller = Thread.ofVirtual().start(() -> {
+            try {
+                Async.await(() -> Async.await(() -> Async.await(innermost)));
+            } catch (CompletionException e) {
+                // expected
+            }
+        });
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        // when
+        caller.interrupt();
+        caller.join();
+        // then
+        assertThat(interrupted.await(1, TimeUnit.SECONDS))
+            .as("Innermost block should be interrupted")
+            .isTrue();
+    }
+
+    @Test
+    void interruptingCallerShouldCancelAllBlocksOfGroup() throws InterruptedException {
+        // given
+        final var started = new CountDownLatch(2);
+        final var interrupted = new CountDownLatch(2);
+        final Callable<String> block = () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return "Too late";
+        };
+        final long cancelledBefore = Async.cancelledTaskCount();
+        final var caller = Thread.ofVirtual().start(() -> {
+            try {
+                Async.awaitAll(List.of(block, block));
+            } catch (CompletionException e) {
+                // expected
+            }
+        });
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        // when
+        caller.interrupt();
+        caller.join();
+        // then
+        assertThat(interrupted.await(1, TimeUnit.SECONDS))
+            .as("All blocks should be interrupted")
+            .isTrue();
+        assertThat(Async.cancelledTaskCount()).isGreaterThanOrEqualTo(cancelledBefore + 2);
+    }
+}
@@ -4,7 +4,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.IOException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static me.kpavlov.await4j.TestUtils.sleepMillis;
@@ -88,5 +91,43 @@ class AsyncCompletableFutureTest extends AbstractAsyncTest {
             Async.await(CompletableFuture.completedFuture(result))
         ).isSameAs(result);
     }
-}
 
+    @Test
+    void shouldWrapCheckedException() {
+        // Given
+        final var exception = new IOException("Expected");
+        final var completableFuture = new CompletableFuture<String>();
+        threadBuilders()[0].start(() -> {
+            sleepMillis(50);
+            completableFuture.completeExceptionally(exception);
+        });
+        // When & Then
+        assertThatThrownBy(() ->
+            Async.await(completableFuture)
+        ).isInstanceOf(CompletionException.class)
+            .hasCause(exception);
+    }
+
+    @Test
+    void shouldReturnResultWithinTimeout() {
+        // Given
+        final CompletableFuture<String> completableFuture = CompletableFuture.supplyAsync(() -> {
+            sleepMillis(50);
+            return "OK";
+        });
+        // When & Then
+        assertThat(Async.await(completableFuture, 1000)).isEqualTo("OK");
+    }
+
+    @Test
+    void shouldFailOnTimeout() {
+        // Given
+        final var completableFuture = new CompletableFuture<String>();
+        // When & Then
+        assertThatThrownBy(() ->
+            Async.await(completableFuture, 50)
+        ).isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(completableFuture).isNotDone();
+    }
+}
@@ -0,0 +1,95 @@
+package me.kpavlov.await4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static me.kpavlov.await4j.TestUtils.sleepMillis;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncDeferTest extends AbstractAsyncTest {
+
+    @Test
+    void shouldNotStartUntilAwaited() {
+        // given
+        final var calls = new AtomicInteger();
+        // when
+        final var deferred = Async.defer(calls::incrementAndGet);
+        sleepMillis(50);
+        // then
+        assertThat(deferred.isStarted()).isFalse();
+        assertThat(calls).hasValue(0);
+        assertThat(Async.await(deferred)).isEqualTo(1);
+        assertThat(deferred.isDone()).isTrue();
+    }
+
+    @Test
+    void shouldShareSingleExecution() throws InterruptedException {
+        // given
+        final var calls = new AtomicInteger();
+        final var deferred = Async.defer(() -> {
+            sleepMillis(100);
+            return calls.incrementAndGet();
+        });
+        final var results = new AtomicInteger();
+        final var threads = new ArrayList<Thread>();
+        // when
+        for (int i = 0; i < 10; i++) {
+            threads.add(Thread.ofVirtual().start(() -> results.addAndGet(Async.await(deferred))));
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        // then
+        assertThat(calls).hasValue(1);
+        assertThat(results).hasValue(10);
+        assertThat(Async.await(deferred, 100)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldStartExplicitly() {
+        // given
+        final var deferred = Async.defer(() -> "OK");
+        // when
+        final var future = deferred.start();
+        // then
+        assertThat(deferred.isStarted()).isTrue();
+        assertThat(deferred.start()).isSameAs(future);
+        assertThat(future.join()).isEqualTo("OK");
+    }
+
+    @Test
+    void shouldFailSharedExecutionWhenThreadCannotBeStarted() {
+        // given
+        final var executor = Executors.newVirtualThreadPerTaskExecutor();
+        executor.shutdown();
+        final var awaiter = Awaiter.builder().executor(executor).build();
+        final var deferred = awaiter.defer(() -> "Never");
+        // when & then
+        assertThatThrownBy(() -> awaiter.await(deferred, 500))
+            .isInstanceOf(RejectedExecutionException.class);
+        assertThat(deferred.isStarted()).isTrue();
+        assertThat(deferred.isDone()).isTrue();
+        assertThatThrownBy(() -> awaiter.await(deferred))
+            .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void shouldNeverStartWhenCancelled() {
+        // given
+        final var calls = new AtomicInteger();
+        final var deferred = Async.defer(calls::incrementAndGet);
+        // when
+        final boolean cancelled = deferred.cancel(true);
+        // then
+        assertThat(cancelled).isTrue();
+        assertThat(deferred.isCancelled()).isTrue();
+        assertThatThrownBy(() -> Async.await(deferred)).isInstanceOf(CancellationException.class);
+        assertThat(calls).hasValue(0);
+    }
+}
@@ -0,0 +1,86 @@
+package me.kpavlov.await4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static me.kpavlov.await4j.TestUtils.sleepMillis;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncFutureTest extends AbstractAsyncTest {
+
+    @Test
+    void shouldOverlapStartedBlocks() {
+        // given
+        final long start = System.nanoTime();
+        final var first = Async.async(() -> {
+            sleepMillis(300);
+            return "First";
+        });
+        final var second = Async.async(() -> {
+            sleepMillis(300);
+            return "Second";
+        });
+        // when
+        final var results = Async.await(first) + Async.await(second);
+        // then
+        assertThat(results).isEqualTo("FirstSecond");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(550);
+    }
+
+    @Test
+    void shouldRunOnVirtualThread() {
+        // given
+        final var thread = new AtomicReference<Thread>();
+        // when
+        Async.await(Async.async(() -> thread.getAndSet(Thread.currentThread())));
+        // then
+        assertThat(thread.get().isVirtual()).isTrue();
+        assertThat(thread.get().getName()).startsWith("async-virtual-");
+    }
+
+    @Test
+    void shouldTranslateFailureOnAwait() {
+        // given
+        final var exception = new IOException("Failure");
+        final var future = Async.async(() -> {
+            throw exception;
+        });
+        // when & then
+        assertThatThrownBy(() -> Async.await(future))
+            .isInstanceOf(CompletionException.class)
+            .hasCause(exception);
+        assertThatThrownBy(future::join)
+            .isInstanceOf(CompletionException.class)
+            .hasCause(exception);
+    }
+
+    @Test
+    void shouldInterruptBlockOnCancel() throws InterruptedException {
+        // given
+        final var started = new CountDownLatch(1);
+        final var interrupted = new CountDownLatch(1);
+        final var future = Async.async(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return "Late";
+        });
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        // when
+        final boolean cancelled = future.cancel(true);
+        // then
+        assertThat(cancelled).isTrue();
+        assertThat(future.isCancelled()).isTrue();
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,80 @@
+package me.kpavlov.await4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static me.kpavlov.await4j.TestUtils.sleepMillis;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncLaunchTest extends AbstractAsyncTest {
+
+    @Test
+    void shouldLaunchWithoutBlockingCaller() throws InterruptedException {
+        // given
+        final var release = new CountDownLatch(1);
+        final var completed = new CountDownLatch(1);
+        final var awaiter = Awaiter.builder().build();
+        // when
+        awaiter.launch(() -> {
+            release.await();
+            completed.countDown();
+        });
+        // then
+        assertThat(awaiter.inFlightTaskCount()).isEqualTo(1);
+        release.countDown();
+        assertThat(completed.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(awaiter.drain(Duration.ofSeconds(1))).isTrue();
+        assertThat(awaiter.inFlightTaskCount()).isZero();
+    }
+
+    @Test
+    void shouldPassFailureToErrorHandler() {
+        // given
+        final var exception = new IOException("Failure");
+        final var handled = new AtomicReference<Throwable>();
+        final var awaiter = Awaiter.builder()
+            .launchErrorHandler(handled::set)
+            .build();
+        // when
+        awaiter.launch(() -> {
+            throw exception;
+        });
+        // then
+        assertThat(awaiter.drain(Duration.ofSeconds(1))).isTrue();
+        assertThat(handled).hasValue(exception);
+        assertThat(awaiter.failedTaskCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldWaitForOutstandingTasksOnDrain() {
+        // given
+        final var awaiter = Awaiter.builder().build();
+        for (int i = 0; i < 100; i++) {
+            awaiter.launch(() -> sleepMillis(200));
+        }
+        // when
+        final boolean drainedEarly = awaiter.drain(Duration.ofMillis(10));
+        final boolean drained = awaiter.drain(Duration.ofSeconds(2));
+        // then
+        assertThat(drainedEarly).isFalse();
+        assertThat(drained).isTrue();
+        assertThat(awaiter.inFlightTaskCount()).isZero();
+        assertThat(awaiter.failedTaskCount()).isZero();
+    }
+
+    @Test
+    void shouldLaunchOnDefaultAwaiter() {
+        // given
+        final var thread = new AtomicReference<Thread>();
+        // when
+        Async.launch(() -> thread.set(Thread.currentThread()));
+        // then
+        assertThat(Async.drain(Duration.ofSeconds(1))).isTrue();
+        assertThat(thread.get().getName()).startsWith("async-virtual-");
+    }
+}
@@ -0,0 +1,107 @@
+package me.kpavlov.await4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static me.kpavlov.await4j.TestUtils.sleepMillis;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncMapParallelTest extends AbstractAsyncTest {
+
+    @Test
+    void shouldMapInOrderWithBoundedConcurrency() {
+        // given
+        final var inFlight = new AtomicInteger();
+        final var maxInFlight = new AtomicInteger();
+        final List<Integer> items = IntStream.range(0, 100).boxed().toList();
+        // when
+        final List<String> results = Async.mapParallel(items, item -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleepMillis(ThreadLocalRandom.current().nextInt(1, 10));
+            inFlight.decrementAndGet();
+            return "#" + item;
+        }, 8);
+        // then
+        assertThat(results).hasSize(100)
+            .startsWith("#0", "#1", "#2")
+            .endsWith("#99");
+        assertThat(maxInFlight.get()).isBetween(1, 8);
+    }
+
+    @Test
+    void shouldPullItemsLazily() {
+        // given
+        final var pulled = new AtomicInteger();
+        final var completed = new AtomicInteger();
+        final var maxAhead = new AtomicInteger();
+        final Iterable<Integer> items = () -> new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return pulled.get() < 50;
+            }
+
+            @Override
+            public Integer next() {
+                maxAhead.accumulateAndGet(pulled.get() - completed.get(), Math::max);
+                return pulled.getAndIncrement();
+            }
+        };
+        // when
+        final List<Integer> results = Async.mapParallel(items, item -> {
+            sleepMillis(5);
+            completed.incrementAndGet();
+            return item;
+        }, 4);
+        // then
+        assertThat(results).hasSize(50);
+        assertThat(maxAhead.get()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void shouldMapStreamAndCloseIt() {
+        // given
+        final var closed = new AtomicBoolean();
+        final Stream<Integer> items = Stream.of(1, 2, 3).onClose(() -> closed.set(true));
+        // when
+        final List<Integer> results = Async.mapParallel(items, item -> item * 10, 2);
+        // then
+        assertThat(results).containsExactly(10, 20, 30);
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void shouldFailFastOnFirstFailure() {
+        // given
+        final var exception = new IOException("Failure");
+        final var started = new AtomicInteger();
+        final List<Integer> items = IntStream.range(0, 1000).boxed().toList();
+        // when & then
+        assertThatThrownBy(() -> Async.mapParallel(items, item -> {
+            started.incrementAndGet();
+            if (item == 10) {
+                throw exception;
+            }
+            sleepMillis(5);
+            return item;
+        }, 4))
+            .isInstanceOf(CompletionException.class)
+            .hasCause(exception);
+        assertThat(started.get()).isLessThan(1000);
+    }
+
+    @Test
+    void shouldRejectNonPositiveConcurrency() {
+        assertThatThrownBy(() -> Async.mapParallel(List.of(1), item -> item, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,64 @@
+package me.kpavlov.await4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncTimeoutTest extends AbstractAsyncTest {
+
+    @Test
+    void awaitCallableShouldFailOnTimeoutAndInterruptBlock() throws InterruptedException {
+        // given
+        final var interrupted = new CountDownLatch(1);
+        final Callable<String> callable = () -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return "Too late";
+        };
+        final long abandonedBefore = Async.abandonedTaskCount();
+        // when & then
+        assertThatThrownBy(() -> Async.await(callable, 50))
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(interrupted.await(1, TimeUnit.SECONDS))
+            .as("Abandoned block should be interrupted")
+            .isTrue();
+        assertThat(Async.abandonedTaskCount()).isGreaterThan(abandonedBefore);
+    }
+
+    @Test
+    void awaitRunnableShouldFailOnTimeoutAndInterruptBlock() throws InterruptedException {
+        // given
+        final var interrupted = new CountDownLatch(1);
+        final ThrowingRunnable runnable = () -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        };
+        // when & then
+        assertThatThrownBy(() -> Async.await(runnable, 50))
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(interrupted.await(1, TimeUnit.SECONDS))
+            .as("Abandoned block should be interrupted")
+            .isTrue();
+    }
+
+    @Test
+    void awaitCallableShouldReturnResultWithinTimeout() {
+        assertThat(Async.await(() -> "OK", 1000)).isEqualTo("OK");
+    }
+}
@@ -0,0 +1,146 @@
+package me.kpavlov.await4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AwaitTaskTest {
+
+    @Test
+    void shouldRunAndComplete() throws InterruptedException {
+        // given
+        final var task = new AwaitTask.CallTask<>(() -> "Done");
+        // when
+        Thread.ofVirtual().start(task);
+        // then
+        assertThat(task.join(1000)).isTrue();
+        assertThat(task.isDone()).isTrue();
+        assertThat(task.getOrThrow()).isEqualTo("Done");
+        assertThat(task.cancel(true)).isFalse();
+    }
+
+    @Test
+    void shouldNotRunTaskCancelledBeforeStart() {
+        // given
+        final var ran = new AtomicBoolean();
+        final var task = new AwaitTask.RunTask(() -> ran.set(true));
+        // when
+        final boolean cancelled = task.cancel(false);
+        task.run();
+        // then
+        assertThat(cancelled).isTrue();
+        assertThat(ran).isFalse();
+        assertThat(task.isCancelled()).isTrue();
+        assertThat(task.isDone()).isFalse();
+        assertThat(task.cancel(true)).isFalse();
+    }
+
+    @Test
+    void shouldInterruptRunningTaskOnCancel() throws InterruptedException {
+        // given
+        final var started = new CountDownLatch(1);
+        final var interrupted = new CountDownLatch(1);
+        final var task = new AwaitTask.RunTask(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        final var thread = Thread.ofVirtual().start(task);
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        // when
+        final boolean cancelled = task.cancel(true);
+        // then
+        assertThat(cancelled).isTrue();
+        assertThat(interrupted.await(1, TimeUnit.SECONDS))
+            .as("Running block should be interrupted")
+            .isTrue();
+        assertThat(thread.join(Duration.ofSeconds(1))).isTrue();
+        assertThat(task.isCancelled()).isTrue();
+        assertThat(task.isDone()).isFalse();
+        assertThat(task.join(10)).isFalse();
+    }
+
+    @Test
+    void shouldLetRunningTaskCompleteWhenCancelledWithoutInterrupt() throws InterruptedException {
+        // given
+        final var started = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var interrupted = new AtomicBoolean();
+        final var task = new AwaitTask.RunTask(() -> {
+            started.countDown();
+            release.await();
+            interrupted.set(Thread.currentThread().isInterrupted());
+        });
+        final var thread = Thread.ofVirtual().start(task);
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        // when
+        final boolean cancelled = task.cancel(false);
+        release.countDown();
+        // then
+        assertThat(cancelled).isTrue();
+        assertThat(thread.join(Duration.ofSeconds(1))).isTrue();
+        assertThat(interrupted).isFalse();
+        assertThat(task.isCancelled()).isTrue();
+        assertThat(task.isDone()).isFalse();
+    }
+
+    @Test
+    void shouldCompleteWithoutRunning() throws InterruptedException {
+        // given
+        final var ran = new AtomicBoolean();
+        final var task = new AwaitTask.CallTask<>(() -> {
+            ran.set(true);
+            return "Ran";
+        });
+        // when
+        task.complete("Completed", null);
+        task.run();
+        task.complete("Completed again", null);
+        // then
+        assertThat(task.join(0)).isTrue();
+        assertThat(ran).isFalse();
+        assertThat(task.getOrThrow()).isEqualTo("Completed");
+        assertThat(task.cancel(true)).isFalse();
+    }
+
+    @Test
+    void shouldNotCompleteCancelledCell() {
+        // given
+        final var cell = new AwaitCell.WhenCompleteCell<String>();
+        cell.cancel(false);
+        // when
+        cell.complete("Late", null);
+        // then
+        assertThat(cell.isDone()).isFalse();
+        assertThat(cell.isCancelled()).isTrue();
+    }
+
+    @Test
+    void shouldCompleteCellByFutureCallback() throws InterruptedException {
+        // given
+        final var future = new CompletableFuture<String>();
+        final var cell = new AwaitCell.WhenCompleteCell<String>();
+        future.whenComplete(cell);
+        final var failure = new IOException("Failure");
+        // when
+        Thread.ofVirtual().start(() -> future.completeExceptionally(failure));
+        // then
+        assertThat(cell.join(1000)).isTrue();
+        assertThatThrownBy(cell::getOrThrow)
+            .isInstanceOf(CompletionException.class)
+            .hasCause(failure);
+        assertThat(cell.toResult().isFailure()).isTrue();
+    }
+}
@@ -0,0 +1,256 @@
+package me.kpavlov.await4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AwaiterTest extends AbstractAsyncTest {
+
+    @Test
+    void shouldNameVirtualThreads() {
+        final var awaiter = Awaiter.builder()
+            .name("custom-")
+            .build();
+
+        final var thread = awaiter.await(Thread::currentThread);
+
+        assertThat(thread.isVirtual()).isTrue();
+        assertThat(thread.getName()).startsWith("custom-");
+    }
+
+    @Test
+    void shouldLeaveVirtualThreadsUnnamed() {
+        final var awaiter = Awaiter.builder()
+            .unnamed()
+            .build();
+
+        final var thread = awaiter.await(Thread::currentThread);
+
+        assertThat(thread.isVirtual()).isTrue();
+        assertThat(thread.getName()).isEmpty();
+    }
+
+    @Test
+    void shouldNameThreadsUniquelyFromConcurrentCallers() throws InterruptedException {
+        final var awaiter = Awaiter.builder()
+            .name("concurrent-")
+            .build();
+        final var names = ConcurrentHashMap.<String>newKeySet();
+        final int callers = 16;
+        final int callsPerCaller = 100;
+
+        try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < callers; i++) {
+                executor.execute(() -> {
+                    for (int j = 0; j < callsPerCaller; j++) {
+                        names.add(awaiter.await(() -> Thread.currentThread().getName()));
+                    }
+                });
+            }
+        }
+
+        assertThat(names).hasSize(callers * callsPerCaller);
+    }
+
+    @Test
+    void shouldUseThreadBuilder() {
+        final var awaiter = Awaiter.builder()
+            .threadBuilder(Thread.ofPlatform().name("platform-", 0))
+            .build();
+
+        final var thread = awaiter.await(Thread::currentThread);
+
+        assertThat(thread.isVirtual()).isFalse();
+        assertThat(thread.getName()).startsWith("platform-");
+    }
+
+    @Test
+    void shouldUseThreadFactory() {
+        final var awaiter = Awaiter.builder()
+            .threadFactory(Thread.ofVirtual().name("factory-", 0).factory())
+            .build();
+
+        final var thread = awaiter.await(Thread::currentThread);
+
+        assertThat(thread.getName()).startsWith("factory-");
+    }
+
+    @Test
+    void shouldRejectBlockWhenThreadFactoryReturnsNull() {
+        final var awaiter = Awaiter.builder()
+            .threadFactory(task -> null)
+            .build();
+
+        assertThatThrownBy(() -> awaiter.await(() -> "Never"))
+            .isInstanceOf(RejectedExecutionException.class)
+            .hasMessage("Thread factory has not created a thread");
+        assertThatThrownBy(() -> awaiter.launch(() -> {
+        }))
+            .isInstanceOf(RejectedExecutionException.class);
+        assertThat(awaiter.drain(Duration.ZERO)).isTrue();
+    }
+
+    @Test
+    void shouldReturnFailedResultWhenThreadFactoryReturnsNull() {
+        final var awaiter = Awaiter.builder()
+            .threadFactory(task -> null)
+            .build();
+
+        assertThat(awaiter.awaitResult(() -> "Never").failure())
+            .isInstanceOf(RejectedExecutionException.class)
+            .hasMessage("Thread factory has not created a thread");
+        assertThat(awaiter.awaitIntResult(() -> 1, 1000).failure())
+            .isInstanceOf(RejectedExecutionException.class);
+        assertThat(awaiter.awaitLongResult(() -> 1L).failure())
+            .isInstanceOf(RejectedExecutionException.class);
+        assertThat(awaiter.awaitDoubleResult(() -> 1.0).failure())
+            .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void shouldUseExecutor() {
+        try (final var executor = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("executor").factory())) {
+            final var awaiter = Awaiter.builder()
+                .name("ignored-")
+                .executor(executor)
+                .build();
+
+            assertThat(awaiter.await(Thread::currentThread).getName()).isEqualTo("executor");
+            final var completed = new AtomicBoolean();
+            awaiter.await(() -> completed.set(true));
+            assertThat(completed).isTrue();
+        }
+    }
+
+    @Test
+    void shouldNotInheritThreadLocals() throws InterruptedException {
+        final var awaiter = Awaiter.builder()
+            .inheritInheritableThreadLocals(false)
+            .build();
+        final var threadLocal = new InheritableThreadLocal<String>();
+        final var inherited = new AtomicReference<String>();
+
+        Thread.ofPlatform().start(() -> {
+            threadLocal.set("parent");
+            inherited.set(awaiter.await(threadLocal::get));
+        }).join();
+
+        assertThat(inherited).hasNullValue();
+    }
+
+    @Test
+    void shouldRunOnCallerVirtualThread() throws InterruptedException {
+        final var awaiter = Awaiter.builder()
+            .callerRuns(true)
+            .build();
+        final var callerThread = new AtomicReference<Thread>();
+        final var blockThread = new AtomicReference<Thread>();
+
+        Thread.ofVirtual().start(() -> {
+            callerThread.set(Thread.currentThread());
+            blockThread.set(awaiter.await(Thread::currentThread));
+        }).join();
+
+        assertThat(blockThread.get()).isSameAs(callerThread.get());
+    }
+
+    @Test
+    void shouldEnforceTimeoutWhenRunningOnCaller() throws InterruptedException {
+        final var awaiter = Awaiter.builder()
+            .callerRuns(true)
+            .build();
+        final var callerThread = new AtomicReference<Thread>();
+        final var blockThread = new AtomicReference<Thread>();
+        final var failure = new AtomicReference<Throwable>();
+
+        Thread.ofVirtual().start(() -> {
+            callerThread.set(Thread.currentThread());
+            blockThread.set(awaiter.await(Thread::currentThread, 1000));
+            try {
+                awaiter.await(() -> {
+                    Thread.sleep(10_000);
+                    return "Late";
+                }, 10);
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        }).join();
+
+        assertThat(blockThread.get()).as("Timed block should run on another thread").isNotSameAs(callerThread.get());
+        assertThat(failure.get())
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void shouldEnforceDeadlineWhenRunningOnCaller() throws InterruptedException {
+        final var awaiter = Awaiter.builder()
+            .callerRuns(true)
+            .build();
+        final var callerThread = new AtomicReference<Thread>();
+        final var blockThread = new AtomicReference<Thread>();
+        final var failure = new AtomicReference<Throwable>();
+
+        Thread.ofVirtual().start(() -> {
+            callerThread.set(Thread.currentThread());
+            try {
+                Deadline.within(Duration.ofMillis(50), () -> {
+                    blockThread.set(awaiter.await(Thread::currentThread));
+                    return awaiter.await(() -> {
+                        Thread.sleep(10_000);
+                        return "Late";
+                    });
+                });
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        }).join();
+
+        assertThat(blockThread.get()).as("Block within a deadline should run on another thread")
+            .isNotSameAs(callerThread.get());
+        assertThat(failure.get())
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void shouldNotRunOnCallerPlatformThread() {
+        final var awaiter = Awaiter.builder()
+            .callerRuns(true)
+            .build();
+
+        assertThat(awaiter.await(Thread::currentThread)).isNotSameAs(Thread.currentThread());
+    }
+
+    @Test
+    void shouldLetAbandonedBlockComplete() throws InterruptedException {
+        final var awaiter = Awaiter.builder()
+            .interruptOnTimeout(false)
+            .build();
+        final var completed = new CountDownLatch(1);
+
+        assertThatThrownBy(() -> awaiter.await(() -> {
+            Thread.sleep(200);
+            completed.countDown();
+        }, 50))
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+
+        assertThat(completed.await(1, TimeUnit.SECONDS))
+            .as("Abandoned block should complete")
+            .isTrue();
+        assertThat(awaiter.abandonedTaskCount()).isOne();
+    }
+}
@@ -0,0 +1,195 @@
+package me.kpavlov.await4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadTest extends AbstractAsyncTest {
+
+    @Test
+    void shouldLimitConcurrentCalls() {
+        // given
+        final var bulkhead = Bulkhead.builder("db")
+            .maxConcurrentCalls(2)
+            .maxQueueDepth(10)
+            .maxWait(Duration.ofSeconds(5))
+            .build();
+        final var running = new AtomicInteger();
+        final var maxRunning = new AtomicInteger();
+        final Callable<Integer> block = bulkhead.decorate(() -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return 1;
+        });
+        // when
+        final var results = Async.awaitAll(List.of(block, block, block, block, block, block));
+        // then
+        assertThat(results).hasSize(6);
+        assertThat(maxRunning).hasValue(2);
+        assertThat(bulkhead.permittedCallCount()).isEqualTo(6);
+        assertThat(bulkhead.permitWaitTime()).isPositive();
+        assertThat(bulkhead.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRejectWhenQueueIsFull() throws InterruptedException {
+        // given
+        final var bulkhead = Bulkhead.builder("service").maxConcurrentCalls(1).build();
+        final var started = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        Async.launch(bulkhead.decorate(() -> {
+            started.countDown();
+            release.await();
+        }));
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        // when & then
+        assertThatThrownBy(() -> Async.await(() -> "Rejected", bulkhead))
+            .isInstanceOf(RejectedExecutionException.class)
+            .hasMessage("Bulkhead service is full");
+        assertThat(bulkhead.rejectedCallCount()).isOne();
+        release.countDown();
+    }
+
+    @Test
+    void shouldRejectWhenPermitWaitTimesOut() throws InterruptedException {
+        // given
+        final var bulkhead = Bulkhead.builder("service")
+            .maxConcurrentCalls(1)
+            .maxQueueDepth(1)
+            .maxWait(Duration.ofMillis(20))
+            .build();
+        final var started = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        Async.launch(bulkhead.decorate(() -> {
+            started.countDown();
+            release.await();
+        }));
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        // when & then
+        assertThatThrownBy(() -> Async.await(() -> "Too late", bulkhead))
+            .isInstanceOf(RejectedExecutionException.class)
+            .hasMessage("Bulkhead service permit wait timed out");
+        assertThat(bulkhead.rejectedCallCount()).isOne();
+        assertThat(bulkhead.queueDepth()).isZero();
+        release.countDown();
+    }
+
+    @Test
+    void shouldNotStartThreadForRejectedCall() throws InterruptedException {
+        // given
+        final var bulkhead = Bulkhead.builder("service").maxConcurrentCalls(1).build();
+        final var started = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        Async.launch(bulkhead.decorate(() -> {
+            started.countDown();
+            release.await();
+        }));
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        final var threads = new AtomicInteger();
+        final var awaiter = Awaiter.builder()
+            .threadFactory(task -> {
+                threads.incrementAndGet();
+                return Thread.ofVirtual().unstarted(task);
+            })
+            .build();
+        // when & then
+        assertThatThrownBy(() -> awaiter.await(() -> "Rejected", bulkhead))
+            .isInstanceOf(RejectedExecutionException.class)
+            .hasMessage("Bulkhead service is full");
+        assertThat(threads).hasValue(0);
+        release.countDown();
+    }
+
+    @Test
+    void shouldTimeOutWhenDeadlinePassesWhileWaitingForPermit() throws InterruptedException {
+        // given
+        final var bulkhead = Bulkhead.builder("service")
+            .maxConcurrentCalls(1)
+            .maxQueueDepth(1)
+            .maxWait(Duration.ofSeconds(5))
+            .build();
+        final var started = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        Async.launch(bulkhead.decorate(() -> {
+            started.countDown();
+            release.await();
+        }));
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        // when & then
+        assertThatThrownBy(() -> Deadline.within(Duration.ofMillis(20), () -> Async.await(() -> "Late", bulkhead)))
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(bulkhead.rejectedCallCount()).isZero();
+        assertThat(bulkhead.queueDepth()).isZero();
+        release.countDown();
+    }
+
+    @Test
+    void shouldReturnPermitWhenDeadlineRunsOut() throws InterruptedException {
+        // given
+        final var bulkhead = Bulkhead.builder("service").maxConcurrentCalls(1).build();
+        // when
+        for (int i = 0; i < 1000; i++) {
+            final var budget = Duration.ofNanos(ThreadLocalRandom.current().nextLong(200_000));
+            try {
+                Deadline.within(budget, () -> Async.await(() -> "Fast", bulkhead));
+            } catch (CompletionException e) {
+                assertThat(e).hasCauseInstanceOf(TimeoutException.class);
+            }
+            final long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            while (bulkhead.availablePermits() == 0 && System.nanoTime() - waitUntil < 0) {
+                Thread.sleep(1); // until a launched block completes
+            }
+        }
+        // then
+        assertThat(bulkhead.availablePermits()).isOne();
+        assertThat(bulkhead.rejectedCallCount()).isZero();
+    }
+
+    @Test
+    void shouldReleasePermitOfBlockNotStarted() {
+        // given
+        final var bulkhead = Bulkhead.builder("service").maxConcurrentCalls(1).build();
+        final var executor = Executors.newVirtualThreadPerTaskExecutor();
+        executor.shutdown();
+        final var awaiter = Awaiter.builder().executor(executor).build();
+        // when & then
+        assertThatThrownBy(() -> awaiter.await(() -> "Not started", bulkhead))
+            .isInstanceOf(RejectedExecutionException.class);
+        assertThat(bulkhead.availablePermits()).isOne();
+        assertThat(Async.await(() -> "OK", bulkhead)).isEqualTo("OK");
+    }
+
+    @Test
+    void registryShouldCreateBulkheadPerName() {
+        // given
+        final var created = new AtomicInteger();
+        final var bulkheads = Bulkheads.create(name -> {
+            created.incrementAndGet();
+            return Bulkhead.builder(name).maxConcurrentCalls(3).build();
+        });
+        // when
+        final var orders = bulkheads.get("orders");
+        final var users = bulkheads.get("users");
+        // then
+        assertThat(bulkheads.get("orders")).isSameAs(orders);
+        assertThat(users.name()).isEqualTo("users");
+        assertThat(created).hasValue(2);
+        assertThat(bulkheads.all()).containsExactlyInAnyOrder(orders, users);
+        assertThat(Async.await(() -> "OK", orders)).isEqualTo("OK");
+    }
+}
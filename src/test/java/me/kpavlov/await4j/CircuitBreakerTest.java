@@ -0,0 +1,151 @@
+package me.kpavlov.await4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerTest extends AbstractAsyncTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final Callable<String> failing = () -> {
+        calls.incrementAndGet();
+        throw new IllegalStateException("Unavailable");
+    };
+
+    private final Callable<String> succeeding = () -> {
+        calls.incrementAndGet();
+        return "OK";
+    };
+
+    private CircuitBreaker.Builder breaker() {
+        return CircuitBreaker.builder()
+            .windowSize(4)
+            .minimumCalls(4)
+            .failureRateThreshold(0.5)
+            .halfOpenCalls(2);
+    }
+
+    @Test
+    void shouldOpenAndRejectWithoutCallingBlock() {
+        // given
+        final var breaker = breaker().openDuration(Duration.ofMinutes(1)).build();
+        Async.awaitResult(succeeding, breaker);
+        Async.awaitResult(succeeding, breaker);
+        Async.awaitResult(failing, breaker);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        Async.awaitResult(failing, breaker);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        calls.set(0);
+        // when
+        final Result<String> result = Async.awaitResult(succeeding, breaker);
+        // then
+        assertThat(result.failure())
+            .isInstanceOf(RejectedExecutionException.class)
+            .hasMessage("Circuit breaker is open");
+        assertThat(calls).hasValue(0);
+        assertThat(breaker.rejectedCallCount()).isOne();
+        assertThatThrownBy(() -> Async.await(succeeding, breaker))
+            .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void shouldCloseAfterSuccessfulTrialCalls() throws InterruptedException {
+        // given
+        final var breaker = breaker().openDuration(Duration.ofMillis(20)).build();
+        for (int i = 0; i < 4; i++) {
+            Async.awaitResult(failing, breaker);
+        }
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        Thread.sleep(50);
+        // when
+        assertThat(Async.await(succeeding, breaker)).isEqualTo("OK");
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(Async.await(succeeding, breaker)).isEqualTo("OK");
+        // then
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void shouldReopenWhenTrialCallFails() throws InterruptedException {
+        // given
+        final var breaker = breaker().openDuration(Duration.ofMillis(20)).build();
+        for (int i = 0; i < 4; i++) {
+            Async.awaitResult(failing, breaker);
+        }
+        Thread.sleep(50);
+        // when
+        final Result<String> result = Async.awaitResult(failing, breaker);
+        // then
+        assertThat(result.failure()).isInstanceOf(IllegalStateException.class);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void shouldRecordTrialCallWhenThreadCannotBeStarted() throws InterruptedException {
+        // given
+        final var breaker = breaker().openDuration(Duration.ofMillis(20)).build();
+        for (int i = 0; i < 4; i++) {
+            Async.awaitResult(failing, breaker);
+        }
+        Thread.sleep(50);
+        final var awaiter = Awaiter.builder().threadFactory(task -> null).build();
+        // when
+        final Result<String> result = awaiter.awaitResult(succeeding, breaker);
+        // then
+        assertThat(result.failure()).isInstanceOf(RejectedExecutionException.class);
+        assertThat(calls).hasValue(4);
+        assertThat(breaker.state())
+            .as("Trial call which could not be started should not keep its permit")
+            .isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void shouldOpenOnSlowCalls() {
+        // given
+        final var breaker = breaker()
+            .slowCallDuration(Duration.ofMillis(10))
+            .slowCallRateThreshold(0.5)
+            .build();
+        final Callable<String> slow = () -> {
+            Thread.sleep(20);
+            return "Slow";
+        };
+        // when
+        Async.await(succeeding, breaker);
+        Async.await(succeeding, breaker);
+        Async.await(slow, breaker);
+        Async.await(slow, breaker);
+        // then
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void decoratedCallableShouldRecordOutcomes() {
+        // given
+        final var breaker = breaker()
+            .recordFailure(e -> !(e instanceof IllegalArgumentException))
+            .build();
+        final Callable<String> guarded = breaker.decorate(failing);
+        final Callable<String> ignored = breaker.decorate(() -> {
+            throw new IllegalArgumentException("Bad request");
+        });
+        // when
+        for (int i = 0; i < 2; i++) {
+            assertThat(Async.awaitResult(ignored).isFailure()).isTrue();
+        }
+        assertThat(Async.awaitResult(guarded).isFailure()).isTrue();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(Async.awaitResult(guarded).isFailure()).isTrue();
+        // then
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> Async.await(guarded))
+            .isInstanceOf(RejectedExecutionException.class);
+    }
+}
@@ -0,0 +1,87 @@
+package me.kpavlov.await4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static me.kpavlov.await4j.TestUtils.sleepMillis;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeadlineTest extends AbstractAsyncTest {
+
+    @Test
+    void shouldLimitAwaitByRemainingBudget() {
+        // given
+        final long start = System.nanoTime();
+        // when & then
+        assertThatThrownBy(() -> Deadline.within(Duration.ofMillis(100), () ->
+            Async.await(() -> {
+                sleepMillis(1000);
+                return "Late";
+            }, 5000)
+        ))
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(800);
+    }
+
+    @Test
+    void shouldPropagateDeadlineToNestedAwaits() {
+        // given
+        final var budget = new CompletableFuture<Duration>();
+        // when
+        Deadline.within(Duration.ofSeconds(1), () ->
+            Async.await(() -> budget.complete(Deadline.remaining().orElseThrow()))
+        );
+        // then
+        assertThat(budget.join()).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(1));
+        assertThat(Deadline.remaining()).isEmpty();
+    }
+
+    @Test
+    void shouldFailFastWithoutStartingThreadWhenBudgetIsSpent() {
+        // given
+        final var started = new AtomicBoolean();
+        final Callable<String> block = () -> {
+            started.set(true);
+            return "OK";
+        };
+        // when & then
+        assertThatThrownBy(() -> Deadline.within(Duration.ofMillis(10), () -> {
+            sleepMillis(50);
+            return Async.awaitAll(List.of(block));
+        }))
+            .isInstanceOf(CompletionException.class)
+            .hasRootCauseMessage("Deadline exceeded");
+        assertThat(started).isFalse();
+    }
+
+    @Test
+    void shouldNotExtendOuterDeadline() {
+        // when
+        final var remaining = Deadline.within(Duration.ofMillis(100), () ->
+            Deadline.within(Duration.ofSeconds(10), () -> Deadline.remaining().orElseThrow())
+        );
+        // then
+        assertThat(remaining).isLessThanOrEqualTo(Duration.ofMillis(100));
+    }
+
+    @Test
+    void shouldReturnDeadlineExceededAsResult() {
+        // when
+        final var result = Deadline.within(Duration.ofMillis(1), () -> {
+            sleepMillis(20);
+            return Async.awaitResult(() -> "OK");
+        });
+        // then
+        assertThat(result.failure()).hasRootCauseMessage("Deadline exceeded");
+    }
+}
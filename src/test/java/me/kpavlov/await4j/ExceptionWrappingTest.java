@@ -0,0 +1,123 @@
+package me.kpavlov.await4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExceptionWrappingTest {
+
+    @Test
+    void shouldBeStackTraceByDefault() {
+        assertThat(ExceptionWrapping.CURRENT).isEqualTo(ExceptionWrapping.STACK_TRACE);
+    }
+
+    @Test
+    void shouldParsePropertyValueIgnoringCase() {
+        assertThat(ExceptionWrapping.of("stackless")).isEqualTo(ExceptionWrapping.STACKLESS);
+        assertThat(ExceptionWrapping.of("NONE")).isEqualTo(ExceptionWrapping.NONE);
+    }
+
+    @Test
+    void shouldFallBackToStackTraceOnMissingOrUnknownValue() {
+        assertThat(ExceptionWrapping.of(null)).isEqualTo(ExceptionWrapping.STACK_TRACE);
+        assertThat(ExceptionWrapping.of("STACKLES")).isEqualTo(ExceptionWrapping.STACK_TRACE);
+        assertThat(ExceptionWrapping.of("")).isEqualTo(ExceptionWrapping.STACK_TRACE);
+    }
+
+    @Test
+    void shouldWrapWithStackTrace() {
+        // given
+        final var exception = new IOException("Failure");
+        // when
+        final var wrapper = ExceptionWrapping.STACK_TRACE.wrap(null, exception);
+        // then
+        assertThat(wrapper)
+            .isInstanceOf(CompletionException.class)
+            .hasMessage(exception.toString())
+            .hasCause(exception);
+        assertThat(wrapper.getStackTrace()).isNotEmpty();
+    }
+
+    @Test
+    void shouldWrapWithoutStackTrace() {
+        // given
+        final var exception = new IOException("Failure");
+        // when
+        final var wrapper = ExceptionWrapping.STACKLESS.wrap("Message", exception);
+        // then
+        assertThat(wrapper)
+            .isInstanceOf(CompletionException.class)
+            .hasMessage("Message")
+            .hasCause(exception);
+        assertThat(wrapper.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    void shouldNotWrap() {
+        // given
+        final var exception = new IOException("Failure");
+        // when & then
+        assertThat(ExceptionWrapping.NONE.wrap("Message", exception)).isSameAs(exception);
+    }
+
+    @Test
+    void shouldWrapWithoutStackTraceInStacklessAwaiter() {
+        // given
+        final var awaiter = Awaiter.builder().exceptionWrapping(ExceptionWrapping.STACKLESS).build();
+        final var exception = new IOException("Failure");
+        final Callable<String> failing = () -> {
+            throw exception;
+        };
+        // when & then
+        assertThatThrownBy(() -> awaiter.await(failing))
+            .isInstanceOf(CompletionException.class)
+            .hasCause(exception)
+            .satisfies(wrapper -> assertThat(wrapper.getStackTrace()).isEmpty());
+        assertThatThrownBy(() -> awaiter.awaitAll(List.of(failing)))
+            .hasCause(exception)
+            .satisfies(wrapper -> assertThat(wrapper.getStackTrace()).isEmpty());
+        assertThat(awaiter.awaitResult(CompletableFuture.failedFuture(exception)).failure())
+            .hasCause(exception)
+            .satisfies(wrapper -> assertThat(wrapper.getStackTrace()).isEmpty());
+    }
+
+    @Test
+    void shouldRethrowCheckedExceptionInUnwrappedAwaiter() {
+        // given
+        final var awaiter = Awaiter.builder().exceptionWrapping(ExceptionWrapping.NONE).build();
+        final var exception = new IOException("Failure");
+        final Callable<String> failing = () -> {
+            throw exception;
+        };
+        // when & then
+        assertThatThrownBy(() -> awaiter.await(failing)).isSameAs(exception);
+        assertThatThrownBy(() -> awaiter.awaitInt(() -> {
+            throw exception;
+        })).isSameAs(exception);
+        assertThatThrownBy(() -> awaiter.awaitAny(List.of(failing), 0)).isSameAs(exception);
+        assertThatThrownBy(() -> awaiter.await(CompletableFuture.<String>failedFuture(exception)))
+            .isSameAs(exception);
+        assertThat(awaiter.awaitResult(failing).failure()).isSameAs(exception);
+    }
+
+    @Test
+    void shouldKeepDefaultModeOfOtherAwaiters() {
+        // given
+        Awaiter.builder().exceptionWrapping(ExceptionWrapping.NONE).build();
+        final var exception = new IOException("Failure");
+        // when & then
+        assertThatThrownBy(() -> Async.await(() -> {
+            throw exception;
+        }))
+            .isInstanceOf(CompletionException.class)
+            .hasCause(exception)
+            .satisfies(wrapper -> assertThat(wrapper.getStackTrace()).isNotEmpty());
+    }
+}
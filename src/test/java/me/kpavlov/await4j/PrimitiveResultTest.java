@@ -0,0 +1,69 @@
+package me.kpavlov.await4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PrimitiveResultTest {
+
+    @Test
+    void testIntSuccess() {
+        IntResult result = IntResult.success(42);
+
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.isFailure()).isFalse();
+        assertThat(result.failure()).isNull();
+        assertThat(result.getOrThrow()).isEqualTo(42);
+        assertThat(result.getOrDefault(100)).isEqualTo(42);
+        assertThat(result.boxed()).isEqualTo(Result.success(42));
+        assertThat(result).hasToString("IntResult{42}");
+    }
+
+    @Test
+    void testLongFailure() {
+        RuntimeException exception = new RuntimeException("Test exception");
+        LongResult result = LongResult.failure(exception);
+
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.isFailure()).isTrue();
+        assertThat(result.failure()).isSameAs(exception);
+        assertThatThrownBy(result::getOrThrow)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Failure result")
+            .hasCause(exception);
+        assertThat(result.getOrDefault(100L)).isEqualTo(100L);
+        assertThat(result.boxed().failure()).isSameAs(exception);
+        assertThat(result).hasToString("LongResult{throwable=" + exception + "}");
+    }
+
+    @Test
+    void testSharedFailureBehavior() {
+        RuntimeException exception = new RuntimeException("Test exception");
+        List<PrimitiveResult> results = List.of(
+            IntResult.failure(exception), LongResult.failure(exception), DoubleResult.failure(exception));
+
+        assertThat(results).allSatisfy(result -> {
+            assertThat(result.isSuccess()).isFalse();
+            assertThat(result.isFailure()).isTrue();
+            assertThat(result.failure()).isSameAs(exception);
+        });
+        assertThat(DoubleResult.failure(exception).boxed()).isEqualTo(Result.failure(exception));
+        assertThatThrownBy(() -> IntResult.failure(null))
+            .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void testDoublePatternMatching() {
+        DoubleResult result = DoubleResult.success(0.5);
+
+        double value = switch (result) {
+            case DoubleResult.Success(var v) -> v;
+            case DoubleResult.Failure(var throwable) -> Double.NaN;
+        };
+
+        assertThat(value).isEqualTo(0.5);
+    }
+}
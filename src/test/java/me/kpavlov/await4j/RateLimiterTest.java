@@ -0,0 +1,102 @@
+package me.kpavlov.await4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimiterTest extends AbstractAsyncTest {
+
+    @Test
+    void shouldRejectRateOutOfRange() {
+        assertThatThrownBy(() -> RateLimiter.builder(0))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("permitsPerSecond should be in range (0, 1e9]: 0.0");
+        assertThatThrownBy(() -> RateLimiter.builder(2e9))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("permitsPerSecond should be in range (0, 1e9]: 2.0E9");
+        assertThatThrownBy(() -> RateLimiter.builder(Double.NaN))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldHandOutBurstRightAway() {
+        // given
+        final var rateLimiter = RateLimiter.builder(1).burst(3).build();
+        // when & then
+        assertThat(rateLimiter.tryAcquire()).isTrue();
+        assertThat(rateLimiter.tryAcquire()).isTrue();
+        assertThat(rateLimiter.tryAcquire()).isTrue();
+        assertThat(rateLimiter.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void shouldLimitRateOfDecoratedBlocks() {
+        // given
+        final var rateLimiter = RateLimiter.builder(100).build();
+        final Callable<Integer> block = rateLimiter.decorate(() -> 1);
+        final long start = System.nanoTime();
+        // when
+        final var results = Async.awaitAll(Collections.nCopies(11, block));
+        // then
+        assertThat(results).hasSize(11);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(95));
+    }
+
+    @Test
+    void shouldNotReserveWhenTimeoutIsTooShort() {
+        // given
+        final var rateLimiter = RateLimiter.builder(10).build();
+        assertThat(rateLimiter.tryAcquire()).isTrue();
+        // when & then
+        assertThat(rateLimiter.tryAcquire(1, Duration.ofMillis(10))).isFalse();
+        assertThat(rateLimiter.tryAcquire(1, Duration.ofMillis(200))).isTrue();
+    }
+
+    @Test
+    void shouldFailFastWhenPermitIsAvailableOnlyAfterDeadline() {
+        // given
+        final var rateLimiter = RateLimiter.builder(1).build();
+        rateLimiter.acquire();
+        // when & then
+        assertThatThrownBy(() -> Deadline.within(Duration.ofMillis(100), () -> Async.await(() -> "Late", rateLimiter)))
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void shouldTranslateInterruptWhileWaitingForPermit() {
+        // given
+        final var rateLimiter = RateLimiter.builder(1).build();
+        rateLimiter.acquire();
+        Thread.currentThread().interrupt();
+        // when & then
+        try {
+            assertThatThrownBy(rateLimiter::acquire)
+                .isInstanceOf(CompletionException.class)
+                .hasMessage(Async.INTERRUPTED_MESSAGE)
+                .hasCauseInstanceOf(InterruptedException.class);
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void warmUpShouldStartAtLowerRate() {
+        // given
+        final var rateLimiter = RateLimiter.builder(100).warmUp(Duration.ofSeconds(1)).build();
+        rateLimiter.acquire();
+        // when & then
+        assertThat(rateLimiter.tryAcquire(1, Duration.ofMillis(15)))
+            .as("Cold limiter should issue permits slower than the stable rate")
+            .isFalse();
+        assertThat(rateLimiter.tryAcquire(1, Duration.ofMillis(100))).isTrue();
+    }
+}
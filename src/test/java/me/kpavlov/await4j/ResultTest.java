@@ -55,9 +55,10 @@ class ResultTest {
         Result<Integer> result = Result.failure(exception);
         Function<Integer, String> mapper = num -> "Result: " + num;
 
-        assertThatThrownBy(() -> result.map(mapper))
-            .isInstanceOf(IllegalStateException.class)
-            .hasMessage("Can't map result with Throwable. Use mapThrowable if needed.");
+        Result<String> mappedResult = result.map(mapper);
+
+        assertThat(mappedResult.isFailure()).isTrue();
+        assertThat(mappedResult.failure()).isSameAs(exception);
     }
 
     @Test
@@ -79,8 +80,57 @@ class ResultTest {
         Result<Integer> result = Result.success(42);
         UnaryOperator<Throwable> mapper = throwable -> new RuntimeException("Mapped exception", throwable);
 
-        assertThatThrownBy(() -> result.mapThrowable(mapper))
-            .isInstanceOf(IllegalStateException.class)
-            .hasMessage("Can't map empty Throwable. Use map if needed.");
+        Result<Integer> mappedResult = result.mapThrowable(mapper);
+
+        assertThat(mappedResult).isSameAs(result);
+    }
+
+    @Test
+    void testFlatMap() {
+        RuntimeException exception = new RuntimeException("Test exception");
+        Result<Integer> success = Result.success(42);
+        Result<Integer> failure = Result.failure(exception);
+
+        assertThat(success.flatMap(num -> Result.success("Result: " + num)).getOrNull()).isEqualTo("Result: 42");
+        assertThat(success.flatMap(num -> Result.failure(exception)).failure()).isSameAs(exception);
+        assertThat(failure.flatMap(num -> Result.success("Result: " + num)).failure()).isSameAs(exception);
+    }
+
+    @Test
+    void testRecover() {
+        RuntimeException exception = new RuntimeException("Test exception");
+        Result<String> success = Result.success("OK");
+        Result<String> failure = Result.failure(exception);
+
+        assertThat(success.recover(Throwable::getMessage)).isSameAs(success);
+        assertThat(failure.recover(Throwable::getMessage)).isEqualTo(Result.success("Test exception"));
+    }
+
+    @Test
+    void testFold() {
+        RuntimeException exception = new RuntimeException("Test exception");
+        Function<Integer, String> onSuccess = num -> "Value " + num;
+        Function<Throwable, String> onFailure = Throwable::getMessage;
+
+        assertThat(Result.success(42).fold(onSuccess, onFailure)).isEqualTo("Value 42");
+        assertThat(Result.<Integer>failure(exception).fold(onSuccess, onFailure)).isEqualTo("Test exception");
+    }
+
+    @Test
+    void testPatternMatching() {
+        Result<Integer> result = Result.success(42);
+
+        String description = switch (result) {
+            case Result.Success<Integer>(var value) -> "Value " + value;
+            case Result.Failure<Integer>(var throwable) -> throwable.getMessage();
+        };
+
+        assertThat(description).isEqualTo("Value 42");
+    }
+
+    @Test
+    void testSharedNullSuccess() {
+        assertThat(Result.success(null)).isSameAs(Result.success(null));
+        assertThat(Result.success(null)).hasToString("Result{null}");
     }
 }
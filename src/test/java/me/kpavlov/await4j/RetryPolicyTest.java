@@ -0,0 +1,147 @@
+package me.kpavlov.await4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RetryPolicyTest extends AbstractAsyncTest {
+
+    private static final RetryPolicy FAST_RETRY = RetryPolicy.builder()
+        .maxAttempts(3)
+        .initialBackoff(Duration.ofMillis(1))
+        .maxBackoff(Duration.ofMillis(5))
+        .build();
+
+    @Test
+    void shouldRetryUntilSuccess() {
+        // given
+        final var attempts = new AtomicInteger();
+        final Callable<String> flaky = () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IOException("Transient failure");
+            }
+            return "OK";
+        };
+        // when
+        final var result = Async.await(flaky, FAST_RETRY);
+        // then
+        assertThat(result).isEqualTo("OK");
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void shouldThrowLastFailureWhenAttemptsAreExhausted() {
+        // given
+        final var attempts = new AtomicInteger();
+        final Callable<String> failing = () -> {
+            throw new IOException("Failure #" + attempts.incrementAndGet());
+        };
+        // when & then
+        assertThatThrownBy(() -> Async.await(failing, FAST_RETRY))
+            .isInstanceOf(CompletionException.class)
+            .cause()
+            .isInstanceOf(IOException.class)
+            .hasMessage("Failure #3");
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void shouldNotRetryFailuresRejectedByPredicate() {
+        // given
+        final var policy = RetryPolicy.builder()
+            .initialBackoff(Duration.ofMillis(1))
+            .retryOn(e -> e.getCause() instanceof IOException)
+            .build();
+        final var attempts = new AtomicInteger();
+        final Callable<String> failing = () -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("Bad request");
+        };
+        // when & then
+        assertThatThrownBy(() -> Async.await(failing, policy))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Bad request");
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void shouldStopRetryingWhenBackoffExceedsBudget() {
+        // given
+        final var policy = RetryPolicy.builder()
+            .maxAttempts(10)
+            .initialBackoff(Duration.ofSeconds(10))
+            .maxBackoff(Duration.ofSeconds(10))
+            .multiplier(1)
+            .budget(Duration.ofMillis(200))
+            .build();
+        final var attempts = new AtomicInteger();
+        final Callable<String> failing = () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("Unavailable");
+        };
+        final long start = System.nanoTime();
+        // when & then
+        assertThatThrownBy(() -> Async.await(failing, policy))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Unavailable");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(attempts.get()).as("Backoffs beyond the budget should not be waited for").isLessThan(10);
+    }
+
+    @Test
+    void shouldKeepInterruptOfBackoffWithinBudget() throws InterruptedException {
+        // given
+        final var policy = RetryPolicy.builder()
+            .maxAttempts(2)
+            .initialBackoff(Duration.ofHours(1))
+            .maxBackoff(Duration.ofHours(1))
+            .budget(Duration.ofHours(2))
+            .build();
+        final var failure = new AtomicReference<Throwable>();
+        final var thread = Thread.ofVirtual().start(() -> {
+            try {
+                policy.call(() -> {
+                    throw new IOException("Unavailable");
+                });
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING) {
+            Thread.onSpinWait(); // until backing off
+        }
+        // when
+        thread.interrupt();
+        thread.join();
+        // then
+        assertThat(failure.get())
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(IOException.class);
+        assertThat(failure.get().getSuppressed())
+            .as("Interrupt of the backoff should be kept")
+            .hasExactlyElementsOfTypes(InterruptedException.class);
+    }
+
+    @Test
+    void backoffShouldBeJitteredBelowExponentialCap() {
+        // given
+        final var policy = RetryPolicy.builder()
+            .initialBackoff(Duration.ofNanos(100))
+            .maxBackoff(Duration.ofNanos(1000))
+            .build();
+        // when & then
+        for (int i = 0; i < 100; i++) {
+            assertThat(policy.backoffNanos(1)).isBetween(0L, 100L);
+            assertThat(policy.backoffNanos(3)).isBetween(0L, 400L);
+            assertThat(policy.backoffNanos(20)).isBetween(0L, 1000L);
+        }
+    }
+}
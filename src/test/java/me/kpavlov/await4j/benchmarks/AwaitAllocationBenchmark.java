@@ -0,0 +1,109 @@
+package me.kpavlov.await4j.benchmarks;
+
+import me.kpavlov.await4j.Async;
+import me.kpavlov.await4j.ThrowingRunnable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time and allocations per operation of each {@code await} overload.
+ * <p>
+ * Run with {@code -prof gc} to see the {@code gc.alloc.rate.norm} (bytes per operation) metric,
+ * {@link #main(String[])} enables the profiler by default.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AwaitAllocationBenchmark {
+
+    private static final Integer RESULT = 42;
+
+    private final Callable<Integer> callable = () -> RESULT;
+    private final ThrowingRunnable runnable = () -> {
+        // noop
+    };
+    private final Future<Integer> pendingFuture = new PendingFuture();
+    private final CompletableFuture<Integer> completedFuture = CompletableFuture.completedFuture(RESULT);
+
+    @Benchmark
+    public Integer awaitCallable() {
+        return Async.await(callable);
+    }
+
+    @Benchmark
+    public Integer awaitCallableWithTimeout() {
+        return Async.await(callable, 1000);
+    }
+
+    @Benchmark
+    public void awaitRunnable() {
+        Async.await(runnable);
+    }
+
+    @Benchmark
+    public Integer awaitFuture() {
+        return Async.await(pendingFuture);
+    }
+
+    @Benchmark
+    public Integer awaitFutureWithTimeout() {
+        return Async.await(pendingFuture, 1000);
+    }
+
+    @Benchmark
+    public Integer awaitCompletedFuture() {
+        return Async.await(completedFuture);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(AwaitAllocationBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()
+        ).run();
+    }
+
+    /**
+     * Future which reports itself as not done, so {@code await} never short-circuits,
+     * but returns the result immediately without allocating.
+     */
+    private static final class PendingFuture implements Future<Integer> {
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public boolean isDone() {
+            return false;
+        }
+
+        @Override
+        public Integer get() {
+            return RESULT;
+        }
+
+        @Override
+        public Integer get(long timeout, TimeUnit unit) {
+            return RESULT;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package me.kpavlov.await4j.benchmarks;
+
+import me.kpavlov.await4j.Awaiter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of {@link Awaiter#await(Callable)} with different sources of threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AwaiterBenchmark {
+
+    @Param({"virtual", "platform", "virtualPerTaskExecutor", "fixedThreadPool", "forkJoinPool"})
+    private String threads;
+
+    private final Callable<Integer> callable = () -> 42;
+    private ExecutorService executor;
+    private Awaiter awaiter;
+
+    @Setup
+    public void setUp() {
+        final var builder = Awaiter.builder();
+        switch (threads) {
+            case "virtual" -> {
+                // defaults
+            }
+            case "platform" -> builder.threadBuilder(Thread.ofPlatform());
+            case "virtualPerTaskExecutor" -> executor = Executors.newVirtualThreadPerTaskExecutor();
+            case "fixedThreadPool" -> executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+            case "forkJoinPool" -> executor = Executors.newWorkStealingPool();
+            default -> throw new IllegalArgumentException("Unknown threads: " + threads);
+        }
+        awaiter = builder.executor(executor).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (executor != null) {
+            executor.close();
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer await() {
+        return awaiter.await(callable);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(AwaiterBenchmark.class.getSimpleName())
+            .build()
+        ).run();
+    }
+}
@@ -0,0 +1,64 @@
+package me.kpavlov.await4j.benchmarks;
+
+import me.kpavlov.await4j.Async;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-call cost of {@link Async#await(Callable)} and {@link Async#await(me.kpavlov.await4j.ThrowingRunnable)}
+ * invoked from a virtual thread, with and without the caller-runs mode.
+ * <p>
+ * Benchmark threads are virtual ({@code -Djmh.executor=VIRTUAL}), which is the situation caller-runs mode is for.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class CallerRunsBenchmark {
+
+    private static final String VIRTUAL_EXECUTOR = "-Djmh.executor=VIRTUAL";
+    private static final String CALLER_RUNS = "-D" + Async.CALLER_RUNS_PROPERTY + "=true";
+
+    private final Callable<Integer> callable = () -> 42;
+    private int counter;
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = VIRTUAL_EXECUTOR)
+    public Integer callableNewThread() {
+        return Async.await(callable);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {VIRTUAL_EXECUTOR, CALLER_RUNS})
+    public Integer callableCallerRuns() {
+        return Async.await(callable);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = VIRTUAL_EXECUTOR)
+    public int runnableNewThread() {
+        Async.await(() -> counter++);
+        return counter;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {VIRTUAL_EXECUTOR, CALLER_RUNS})
+    public int runnableCallerRuns() {
+        Async.await(() -> counter++);
+        return counter;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(CallerRunsBenchmark.class.getSimpleName())
+            .build()
+        ).run();
+    }
+}
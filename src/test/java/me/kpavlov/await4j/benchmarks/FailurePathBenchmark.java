@@ -0,0 +1,82 @@
+package me.kpavlov.await4j.benchmarks;
+
+import me.kpavlov.await4j.Async;
+import me.kpavlov.await4j.ExceptionWrapping;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of a failing {@link Async#await(Callable)} in each {@link ExceptionWrapping} mode.
+ * <p>
+ * The block throws a preallocated checked exception, so only the cost of translating it is measured.
+ * Blocks run in caller-runs mode on virtual benchmark threads, so starting a thread does not mask the
+ * difference. {@link #awaitResult()} shows the non-throwing path for comparison.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class FailurePathBenchmark {
+
+    private static final String VIRTUAL_EXECUTOR = "-Djmh.executor=VIRTUAL";
+    private static final String CALLER_RUNS = "-D" + Async.CALLER_RUNS_PROPERTY + "=true";
+    private static final String STACK_TRACE = "-D" + Async.EXCEPTION_WRAPPING_PROPERTY + "=STACK_TRACE";
+    private static final String STACKLESS = "-D" + Async.EXCEPTION_WRAPPING_PROPERTY + "=STACKLESS";
+    private static final String NONE = "-D" + Async.EXCEPTION_WRAPPING_PROPERTY + "=NONE";
+
+    private static final IOException FAILURE = new IOException("Not found");
+
+    private final Callable<Integer> failing = () -> {
+        throw FAILURE;
+    };
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {VIRTUAL_EXECUTOR, CALLER_RUNS, STACK_TRACE})
+    public Object awaitStackTrace() {
+        return awaitFailure();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {VIRTUAL_EXECUTOR, CALLER_RUNS, STACKLESS})
+    public Object awaitStackless() {
+        return awaitFailure();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {VIRTUAL_EXECUTOR, CALLER_RUNS, NONE})
+    public Object awaitUnwrapped() {
+        return awaitFailure();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {VIRTUAL_EXECUTOR, CALLER_RUNS, STACKLESS})
+    public Object awaitResult() {
+        return Async.awaitResult(failing).failure();
+    }
+
+    @SuppressWarnings("java:S1181")
+    private Object awaitFailure() {
+        try {
+            return Async.await(failing);
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(FailurePathBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()
+        ).run();
+    }
+}
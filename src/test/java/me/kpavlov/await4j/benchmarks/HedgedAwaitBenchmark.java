@@ -0,0 +1,70 @@
+package me.kpavlov.await4j.benchmarks;
+
+import me.kpavlov.await4j.Async;
+import me.kpavlov.await4j.HedgePolicy;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the latency distribution of {@link Async#await(Callable)} and
+ * {@link Async#awaitHedged(Callable, HedgePolicy)} on a block with a long tail:
+ * it takes 1 ms, but one call in twenty takes 50 ms, like a request hitting a slow replica.
+ * <p>
+ * Compare the {@code p0.99} lines of the sample-time output: hedged awaits cut the tail
+ * to roughly the hedge delay plus the fast latency.
+ * </p>
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HedgedAwaitBenchmark {
+
+    private static final double SLOW_RATIO = 0.05;
+
+    private final Callable<Integer> longTail = () -> {
+        final boolean slow = ThreadLocalRandom.current().nextDouble() < SLOW_RATIO;
+        Thread.sleep(slow ? 50 : 1);
+        return slow ? 1 : 0;
+    };
+
+    private final HedgePolicy fixedDelay = HedgePolicy.builder()
+        .delay(Duration.ofMillis(5))
+        .build();
+
+    private final HedgePolicy percentile = HedgePolicy.builder()
+        .delay(Duration.ofMillis(5))
+        .percentile(0.9)
+        .build();
+
+    @Benchmark
+    public Integer await() {
+        return Async.await(longTail);
+    }
+
+    @Benchmark
+    public Integer awaitHedgedFixedDelay() {
+        return Async.awaitHedged(longTail, fixedDelay);
+    }
+
+    @Benchmark
+    public Integer awaitHedgedPercentile() {
+        return Async.awaitHedged(longTail, percentile);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(HedgedAwaitBenchmark.class.getSimpleName())
+            .build()
+        ).run();
+    }
+}
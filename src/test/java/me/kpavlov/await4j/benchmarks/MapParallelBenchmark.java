@@ -0,0 +1,79 @@
+package me.kpavlov.await4j.benchmarks;
+
+import me.kpavlov.await4j.Async;
+import me.kpavlov.await4j.ThrowingFunction;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares bounded {@link Async#mapParallel(Iterable, ThrowingFunction, int)} with submitting every item
+ * to an unbounded virtual-thread-per-task executor. Each item simulates 1 ms of I/O.
+ * <p>
+ * Run with {@code -prof gc} to compare allocations per operation, {@link #main(String[])} enables the profiler.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapParallelBenchmark {
+
+    @Param({"10000"})
+    private int items;
+
+    @Param({"64", "1024"})
+    private int maxConcurrency;
+
+    private List<Integer> input;
+
+    private final ThrowingFunction<Integer, Integer> simulatedIo = item -> {
+        Thread.sleep(1);
+        return item;
+    };
+
+    @Setup
+    public void setUp() {
+        input = IntStream.range(0, items).boxed().toList();
+    }
+
+    @Benchmark
+    public List<Integer> mapParallel() {
+        return Async.mapParallel(input, simulatedIo, maxConcurrency);
+    }
+
+    @Benchmark
+    public List<Integer> unboundedExecutor() throws ExecutionException, InterruptedException {
+        try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final var futures = new ArrayList<Future<Integer>>(input.size());
+            for (final Integer item : input) {
+                futures.add(executor.submit(() -> simulatedIo.apply(item)));
+            }
+            final var results = new ArrayList<Integer>(futures.size());
+            for (final Future<Integer> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(MapParallelBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()
+        ).run();
+    }
+}
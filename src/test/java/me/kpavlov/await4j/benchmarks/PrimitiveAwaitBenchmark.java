@@ -0,0 +1,63 @@
+package me.kpavlov.await4j.benchmarks;
+
+import me.kpavlov.await4j.Async;
+import me.kpavlov.await4j.ThrowingLongSupplier;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares awaiting a {@code long} through the boxed {@link Async#await(Callable)} and {@link Async#awaitResult(Callable)}
+ * with the primitive {@link Async#awaitLong(ThrowingLongSupplier)} and {@link Async#awaitLongResult(ThrowingLongSupplier)}.
+ * <p>
+ * Values are outside the {@link Long} cache, so the boxed path allocates. Blocks run in caller-runs mode
+ * on virtual benchmark threads, so allocations of new threads do not mask the difference.
+ * {@link #main(String[])} enables the GC profiler to report {@code gc.alloc.rate.norm}.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djmh.executor=VIRTUAL", "-D" + Async.CALLER_RUNS_PROPERTY + "=true"})
+@State(Scope.Thread)
+public class PrimitiveAwaitBenchmark {
+
+    private long counter = 1_000_000L;
+
+    private final Callable<Long> boxed = () -> counter++;
+    private final ThrowingLongSupplier primitive = () -> counter++;
+
+    @Benchmark
+    public long awaitBoxed() {
+        return Async.await(boxed);
+    }
+
+    @Benchmark
+    public long awaitLong() {
+        return Async.awaitLong(primitive);
+    }
+
+    @Benchmark
+    public long awaitResultBoxed() {
+        return Async.awaitResult(boxed).getOrDefault(0L);
+    }
+
+    @Benchmark
+    public long awaitLongResult() {
+        return Async.awaitLongResult(primitive).getOrDefault(0L);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(PrimitiveAwaitBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()
+        ).run();
+    }
+}
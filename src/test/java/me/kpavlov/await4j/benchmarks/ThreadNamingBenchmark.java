@@ -0,0 +1,51 @@
+package me.kpavlov.await4j.benchmarks;
+
+import me.kpavlov.await4j.Awaiter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of {@link Awaiter#await(Callable)} from 16 concurrent callers
+ * with named and unnamed virtual threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class ThreadNamingBenchmark {
+
+    private final Callable<Integer> callable = () -> 42;
+
+    private final Awaiter named = Awaiter.builder()
+        .name("benchmark-")
+        .build();
+
+    private final Awaiter unnamed = Awaiter.builder()
+        .unnamed()
+        .build();
+
+    @Benchmark
+    public Integer named() {
+        return named.await(callable);
+    }
+
+    @Benchmark
+    public Integer unnamed() {
+        return unnamed.await(callable);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(ThreadNamingBenchmark.class.getSimpleName())
+            .build()
+        ).run();
+    }
+}